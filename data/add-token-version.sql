@@ -0,0 +1,6 @@
+-- Adds the per-user token version checked by TokenRevocationRegistry to an existing blogapi database.
+-- Run it once, before starting a version that reads it. Every user starts at version 0, so tokens issued
+-- before the upgrade carry no version and fall back to loading the user until they expire.
+USE blogapi;
+
+ALTER TABLE `users` ADD COLUMN `token_version` bigint(19) unsigned NOT NULL DEFAULT 0 AFTER `company_id`;
@@ -0,0 +1,48 @@
+-- Moves an existing blogapi database from AUTO_INCREMENT ids to the pooled id tables read by
+-- PooledIdGenerator. Run it once, with the application stopped, before starting a version that uses them.
+-- It is safe to run again: tables are only created and seeded when missing.
+-- The AUTO_INCREMENT attribute of the id columns is left in place; nothing relies on it any more, but it
+-- keeps older tools that insert without an id working as long as the application is not writing.
+USE blogapi;
+
+CREATE TABLE IF NOT EXISTS `user_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `user_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `users` WHERE NOT EXISTS (SELECT 1 FROM `user_seq`);
+
+CREATE TABLE IF NOT EXISTS `tag_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `tag_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `tags` WHERE NOT EXISTS (SELECT 1 FROM `tag_seq`);
+
+CREATE TABLE IF NOT EXISTS `album_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `album_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `albums` WHERE NOT EXISTS (SELECT 1 FROM `album_seq`);
+
+CREATE TABLE IF NOT EXISTS `photo_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `photo_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `photos` WHERE NOT EXISTS (SELECT 1 FROM `photo_seq`);
+
+CREATE TABLE IF NOT EXISTS `todo_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `todo_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `todos` WHERE NOT EXISTS (SELECT 1 FROM `todo_seq`);
+
+CREATE TABLE IF NOT EXISTS `post_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `post_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `posts` WHERE NOT EXISTS (SELECT 1 FROM `post_seq`);
+
+CREATE TABLE IF NOT EXISTS `comment_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `comment_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `comments` WHERE NOT EXISTS (SELECT 1 FROM `comment_seq`);
@@ -0,0 +1,80 @@
+package com.sopromadze.blogapi.mapper;
+
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.AlbumResponse;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Album page mapping as done by getAllAlbums before and after ModelMapper was dropped. ModelMapper is
+ * warmed up in setup, so the numbers exclude its one-off type map construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadMapperBenchmark {
+
+	/** 10 is the default page size, 30 the largest allowed. */
+	@Param({ "10", "30" })
+	private int pageSize;
+
+	private ModelMapper modelMapper;
+
+	private List<Album> albums;
+
+	@Setup
+	public void setup() {
+		User user = new User("Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234");
+		user.setId(1L);
+
+		albums = new ArrayList<>(pageSize);
+		for (long id = 1; id <= pageSize; id++) {
+			Album album = new Album();
+			album.setId(id);
+			album.setTitle("Album " + id);
+			album.setUser(user);
+			album.setPhoto(Collections.singletonList(new Photo("Photo " + id, "https://example.com/" + id,
+					"https://example.com/thumbnails/" + id, album)));
+			album.setCreatedAt(Instant.now());
+			album.setUpdatedAt(Instant.now());
+			album.setCreatedBy(1L);
+			album.setUpdatedBy(1L);
+			albums.add(album);
+		}
+
+		modelMapper = new ModelMapper();
+		modelMapper.map(albums, AlbumResponse[].class);
+	}
+
+	@Benchmark
+	public List<AlbumResponse> modelMapper() {
+		return Arrays.asList(modelMapper.map(albums, AlbumResponse[].class));
+	}
+
+	@Benchmark
+	public List<AlbumResponse> payloadMapper() {
+		return PayloadMapper.toAlbumResponses(albums);
+	}
+}
@@ -0,0 +1,88 @@
+package com.sopromadze.blogapi.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises a full page of posts the way the posts endpoints do. Look at gc.alloc.rate.norm (bytes/op)
+ * from the gc profiler the benchmark profile runs with; the output buffer is reused so it does not count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedResponseBenchmark {
+
+	private static final int POSTS = 30;
+
+	private ObjectMapper objectMapper;
+
+	private PagedResponse<Post> response;
+
+	private ByteArrayOutputStream out;
+
+	@Setup
+	public void setup() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+
+		Category category = new Category("Java");
+		category.setId(1L);
+		List<Tag> tags = new ArrayList<>();
+		for (long id = 1; id <= 3; id++) {
+			Tag tag = new Tag("tag" + id);
+			tag.setId(id);
+			tags.add(tag);
+		}
+
+		List<Post> posts = new ArrayList<>(POSTS);
+		for (long id = 1; id <= POSTS; id++) {
+			Post post = new Post();
+			post.setId(id);
+			post.setTitle("Post " + id);
+			post.setBody("Body of post " + id);
+			post.setCategory(category);
+			post.setTags(tags);
+			post.setComments(Collections.emptyList());
+			post.setCreatedAt(Instant.now());
+			post.setUpdatedAt(Instant.now());
+			post.setCreatedBy(1L);
+			post.setUpdatedBy(1L);
+			posts.add(post);
+		}
+		response = new PagedResponse<>(posts, 0, POSTS, 300, 10, false);
+		out = new ByteArrayOutputStream(64 * 1024);
+	}
+
+	@Benchmark
+	public int serialize() throws IOException {
+		out.reset();
+		objectMapper.writeValue(out, response);
+		return out.size();
+	}
+}
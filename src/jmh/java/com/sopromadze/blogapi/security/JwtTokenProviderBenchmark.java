@@ -0,0 +1,86 @@
+package com.sopromadze.blogapi.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean embedClaims;
+
+	private JwtTokenProvider jwtTokenProvider;
+
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+	private Authentication authentication;
+
+	private MockHttpServletRequest request;
+
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwtTokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "secret");
+		ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3600000);
+		ReflectionTestUtils.setField(jwtTokenProvider, "jwtEmbedClaims", embedClaims);
+		ReflectionTestUtils.setField(jwtTokenProvider, "jwtCacheMaxSize", 10000L);
+		jwtTokenProvider.init();
+
+		jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, null, null, null);
+
+		UserPrincipal userPrincipal = new UserPrincipal(1L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com",
+				"1234", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+		authentication = new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+
+		token = jwtTokenProvider.generateToken(authentication);
+
+		request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer " + token);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtTokenProvider.generateToken(authentication);
+	}
+
+	/** Served from the verified-token cache after the first call. */
+	@Benchmark
+	public boolean validateToken() {
+		return jwtTokenProvider.validateToken(token);
+	}
+
+	/** Always verifies the signature and parses the claims. */
+	@Benchmark
+	public Long getUserIdFromJWT() {
+		return jwtTokenProvider.getUserIdFromJWT(token);
+	}
+
+	@Benchmark
+	public String getJwtFromRequest() {
+		return jwtAuthenticationFilter.getJwtFromRequest(request);
+	}
+}
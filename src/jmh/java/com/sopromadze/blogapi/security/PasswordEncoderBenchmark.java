@@ -0,0 +1,49 @@
+package com.sopromadze.blogapi.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+	/** 10 is the default app.bcryptStrength; each step doubles the cost. */
+	@Param({ "10", "12" })
+	private int strength;
+
+	private BCryptPasswordEncoder passwordEncoder;
+
+	private String encoded;
+
+	@Setup
+	public void setup() {
+		passwordEncoder = new BCryptPasswordEncoder(strength);
+		encoded = passwordEncoder.encode("password");
+	}
+
+	@Benchmark
+	public String encode() {
+		return passwordEncoder.encode("password");
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches("password", encoded);
+	}
+}
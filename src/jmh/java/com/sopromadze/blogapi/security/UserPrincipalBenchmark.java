@@ -0,0 +1,41 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserPrincipalBenchmark {
+
+	private User user;
+
+	@Setup
+	public void setup() {
+		user = new User("Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234");
+		user.setId(1L);
+		user.setRoles(Arrays.asList(new Role(RoleName.ROLE_USER), new Role(RoleName.ROLE_ADMIN)));
+	}
+
+	@Benchmark
+	public UserPrincipal create() {
+		return UserPrincipal.create(user);
+	}
+}
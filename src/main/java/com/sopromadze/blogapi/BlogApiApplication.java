@@ -1,11 +1,9 @@
 package com.sopromadze.blogapi;
 
 import com.sopromadze.blogapi.security.JwtAuthenticationFilter;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.context.annotation.Bean;
 import org.springframework.data.convert.Jsr310Converters;
 
 import javax.annotation.PostConstruct;
@@ -30,9 +28,4 @@ public class BlogApiApplication {
 		return new JwtAuthenticationFilter();
 	}*/
 
-	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
-	}
-
 }
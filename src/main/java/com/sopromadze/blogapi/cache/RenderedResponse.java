@@ -0,0 +1,44 @@
+package com.sopromadze.blogapi.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A fully serialised JSON response together with its validators and the keys it depends on.
+ */
+public final class RenderedResponse {
+
+	private final byte[] body;
+
+	private final String eTag;
+
+	private final long lastModified;
+
+	private final Set<String> dependencies;
+
+	public RenderedResponse(byte[] body, String eTag, long lastModified, Set<String> dependencies) {
+		this.body = body;
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+		this.dependencies = Collections.unmodifiableSet(dependencies);
+	}
+
+	/**
+	 * The cached bytes themselves, not a copy; callers must not modify them.
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	public String getETag() {
+		return eTag;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	public Set<String> getDependencies() {
+		return dependencies;
+	}
+}
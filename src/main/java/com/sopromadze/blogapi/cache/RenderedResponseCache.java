@@ -0,0 +1,171 @@
+package com.sopromadze.blogapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialised JSON of the hottest post endpoints, bounded by the number of bytes held. Every entry records
+ * the dependency keys it was rendered from (the post itself, the listing it belongs to) and is dropped as
+ * soon as a {@link PostChangedEvent} touches one of them. The TTL only bounds changes that are not published
+ * as events, such as renaming a category.
+ */
+@Component
+public class RenderedResponseCache {
+	public static final String ALL_POSTS = "posts";
+
+	private final boolean enabled;
+
+	private final Cache<String, RenderedResponse> responses;
+
+	private final Map<String, Set<String>> keysByDependency = new ConcurrentHashMap<>();
+
+	/**
+	 * Bumped before every invalidation, so a response rendered from data read before a change is never kept.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder bytesSaved = new LongAdder();
+
+	public RenderedResponseCache(@Value(value = "${app.renderedCacheEnabled:true}") boolean enabled,
+			@Value(value = "${app.renderedCacheMaxBytes:67108864}") long maxBytes,
+			@Value(value = "${app.renderedCacheTtlInMs:60000}") long ttlInMs) {
+		this.enabled = enabled;
+		this.responses = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((String key, RenderedResponse response) -> key.length() + response.getBody().length)
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.executor(Runnable::run)
+				.removalListener(this::unindex)
+				.recordStats()
+				.build();
+	}
+
+	public static String post(Long id) {
+		return "post:" + id;
+	}
+
+	public static String category(Long id) {
+		return "category:" + id;
+	}
+
+	public static String tag(Long id) {
+		return "tag:" + id;
+	}
+
+	public RenderedResponse get(String key) {
+		if (!enabled) {
+			return null;
+		}
+
+		RenderedResponse response = responses.getIfPresent(key);
+		if (response != null) {
+			bytesSaved.add(response.getBody().length);
+		}
+
+		return response;
+	}
+
+	/**
+	 * Must be read before loading the data a response is rendered from and passed back to {@link #put}.
+	 */
+	public long currentGeneration() {
+		return generation.get();
+	}
+
+	public void put(String key, long renderedAtGeneration, RenderedResponse response) {
+		if (!enabled) {
+			return;
+		}
+
+		for (String dependency : response.getDependencies()) {
+			keysByDependency.compute(dependency, (ignored, keys) -> {
+				Set<String> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+				indexed.add(key);
+				return indexed;
+			});
+		}
+		responses.put(key, response);
+
+		if (generation.get() != renderedAtGeneration) {
+			responses.invalidate(key);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event) {
+		List<String> dependencies = new ArrayList<>();
+		dependencies.add(post(event.getPostId()));
+		if (event.isStructural()) {
+			dependencies.add(ALL_POSTS);
+		}
+		for (Long categoryId : event.getCategoryIds()) {
+			dependencies.add(category(categoryId));
+		}
+		for (Long tagId : event.getTagIds()) {
+			dependencies.add(tag(tagId));
+		}
+
+		invalidate(dependencies);
+	}
+
+	public void invalidate(Collection<String> dependencies) {
+		generation.incrementAndGet();
+		for (String dependency : dependencies) {
+			Set<String> keys = keysByDependency.remove(dependency);
+			if (keys != null) {
+				responses.invalidateAll(keys);
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		responses.invalidateAll();
+		keysByDependency.clear();
+	}
+
+	public CacheStats getStats() {
+		return responses.stats();
+	}
+
+	public long getBytesSaved() {
+		return bytesSaved.sum();
+	}
+
+	public long getWeightedSize() {
+		return responses.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+	}
+
+	private void unindex(String key, RenderedResponse removed, RemovalCause cause) {
+		if (key == null || removed == null || cause == RemovalCause.REPLACED) {
+			return;
+		}
+
+		RenderedResponse current = responses.asMap().get(key);
+		for (String dependency : removed.getDependencies()) {
+			if (current != null && current.getDependencies().contains(dependency)) {
+				continue;
+			}
+			keysByDependency.computeIfPresent(dependency, (ignored, keys) -> {
+				keys.remove(key);
+				return keys.isEmpty() ? null : keys;
+			});
+		}
+	}
+}
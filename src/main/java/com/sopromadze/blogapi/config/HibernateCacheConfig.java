@@ -0,0 +1,116 @@
+package com.sopromadze.blogapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process second-level cache for the reference entities read on almost every write (categories, tags and
+ * roles). Regions are created up front from the app.*Cache* properties; Hibernate is told to fail rather than
+ * silently create an unbounded region for a name that is not listed here.
+ */
+@Configuration
+public class HibernateCacheConfig {
+	public static final String CATEGORY_REGION = "category";
+
+	public static final String TAG_REGION = "tag";
+
+	public static final String ROLE_REGION = "role";
+
+	public static final String ROLE_BY_NAME_REGION = "role-by-name";
+
+	private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+	private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+	// One entry per table, so this only has to be large enough never to evict
+	private static final long UPDATE_TIMESTAMPS_MAX_SIZE = 1000;
+
+	@Value(value = "${app.secondLevelCacheEnabled:true}")
+	private boolean enabled;
+
+	@Value(value = "${app.secondLevelCacheStatistics:true}")
+	private boolean statistics;
+
+	@Value(value = "${app.categoryCacheMaxSize:1000}")
+	private long categoryMaxSize;
+
+	@Value(value = "${app.categoryCacheTtlInMs:600000}")
+	private long categoryTtlInMs;
+
+	@Value(value = "${app.tagCacheMaxSize:10000}")
+	private long tagMaxSize;
+
+	@Value(value = "${app.tagCacheTtlInMs:600000}")
+	private long tagTtlInMs;
+
+	@Value(value = "${app.roleCacheMaxSize:100}")
+	private long roleMaxSize;
+
+	@Value(value = "${app.roleCacheTtlInMs:3600000}")
+	private long roleTtlInMs;
+
+	@Value(value = "${app.queryCacheMaxSize:1000}")
+	private long queryMaxSize;
+
+	@Value(value = "${app.queryCacheTtlInMs:600000}")
+	private long queryTtlInMs;
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager() {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+		createRegion(cacheManager, CATEGORY_REGION, categoryMaxSize, categoryTtlInMs);
+		createRegion(cacheManager, TAG_REGION, tagMaxSize, tagTtlInMs);
+		createRegion(cacheManager, ROLE_REGION, roleMaxSize, roleTtlInMs);
+		createRegion(cacheManager, ROLE_BY_NAME_REGION, queryMaxSize, queryTtlInMs);
+		createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaxSize, queryTtlInMs);
+		createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, UPDATE_TIMESTAMPS_MAX_SIZE, 0);
+
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> {
+			properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+			properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+			properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+			if (enabled) {
+				properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class.getName());
+				properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+				properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			}
+		};
+	}
+
+	private void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlInMs) {
+		if (cacheManager.getCache(name) != null) {
+			return;
+		}
+
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setMaximumSize(OptionalLong.of(maxSize));
+		if (ttlInMs > 0) {
+			configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlInMs)));
+		}
+		// Hit/miss/eviction counters are published as JCache CacheStatistics MBeans
+		configuration.setStatisticsEnabled(statistics);
+		configuration.setManagementEnabled(statistics);
+
+		cacheManager.createCache(name, configuration);
+	}
+}
@@ -0,0 +1,49 @@
+package com.sopromadze.blogapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache-Control headers sent with the public GET responses, one policy per controller. A max age of zero
+ * still lets clients and CDNs store the response but makes them revalidate it with the ETag on every use.
+ */
+@Component
+public class HttpCachePolicy {
+
+	private final CacheControl posts;
+
+	private final CacheControl categories;
+
+	private final CacheControl tags;
+
+	public HttpCachePolicy(@Value(value = "${app.postsCacheControlMaxAgeInSeconds:0}") long postsMaxAge,
+			@Value(value = "${app.categoriesCacheControlMaxAgeInSeconds:300}") long categoriesMaxAge,
+			@Value(value = "${app.tagsCacheControlMaxAgeInSeconds:60}") long tagsMaxAge) {
+		this.posts = publicCacheControl(postsMaxAge);
+		this.categories = publicCacheControl(categoriesMaxAge);
+		this.tags = publicCacheControl(tagsMaxAge);
+	}
+
+	public CacheControl posts() {
+		return posts;
+	}
+
+	public CacheControl categories() {
+		return categories;
+	}
+
+	public CacheControl tags() {
+		return tags;
+	}
+
+	private static CacheControl publicCacheControl(long maxAgeInSeconds) {
+		if (maxAgeInSeconds <= 0) {
+			return CacheControl.noCache().cachePublic();
+		}
+
+		return CacheControl.maxAge(maxAgeInSeconds, TimeUnit.SECONDS).cachePublic();
+	}
+}
@@ -0,0 +1,34 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.model.PooledIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Passes the {@code app.id*} properties to {@link PooledIdGenerator}. The allocation size should be a
+ * multiple of hibernate.jdbc.batch_size; it can be changed on a live database, since the id tables and
+ * sequences only store the next value to hand out.
+ */
+@Configuration
+public class IdGenerationConfig {
+
+	@Value(value = "${app.idAllocationSize:" + PooledIdGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+	private int allocationSize;
+
+	@Value(value = "${app.idOptimizer:" + PooledIdGenerator.DEFAULT_OPTIMIZER + "}")
+	private String optimizer;
+
+	@Value(value = "${app.idForceTable:false}")
+	private boolean forceTable;
+
+	@Bean
+	public HibernatePropertiesCustomizer idGenerationCustomizer() {
+		return properties -> {
+			properties.put(PooledIdGenerator.ALLOCATION_SIZE_SETTING, String.valueOf(allocationSize));
+			properties.put(PooledIdGenerator.OPTIMIZER_SETTING, optimizer);
+			properties.put(PooledIdGenerator.FORCE_TABLE_SETTING, String.valueOf(forceTable));
+		};
+	}
+}
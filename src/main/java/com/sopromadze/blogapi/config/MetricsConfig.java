@@ -0,0 +1,143 @@
+package com.sopromadze.blogapi.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sopromadze.blogapi.cache.RenderedResponseCache;
+import com.sopromadze.blogapi.datasource.ReplicaRoutingDataSource;
+import com.sopromadze.blogapi.metrics.RepositoryRowsInterceptor;
+import com.sopromadze.blogapi.security.BoundedPasswordEncoder;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
+import com.sopromadze.blogapi.service.TagPostCountReconciler;
+import com.sopromadze.blogapi.service.UserStatsReconciler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.cache.CacheManager;
+import java.util.function.Supplier;
+
+/**
+ * Binds the application's own caches, pools and background jobs to Micrometer, next to what Spring Boot
+ * binds on its own (HTTP requests, Hikari pools, Hibernate statistics, repository invocations). Cache
+ * meters use Micrometer's cache.* names so standard dashboards pick them up.
+ */
+@Configuration
+public class MetricsConfig {
+
+	/**
+	 * Adds {@link RepositoryRowsInterceptor} to every Spring Data repository proxy, the same hook Spring
+	 * Boot uses for its repository timers. Static, since it has to exist before the repositories do.
+	 */
+	@Bean
+	public static BeanPostProcessor repositoryRowsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport) {
+					((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+							factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+									proxyFactory.addAdvice(new RepositoryRowsInterceptor(meterRegistry.getObject(),
+											repositoryInformation.getRepositoryInterface()))));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder applicationCacheMetrics(RenderedResponseCache renderedResponseCache,
+			UserPrincipalCache userPrincipalCache) {
+		return registry -> {
+			bindCacheStats(registry, "rendered-responses", renderedResponseCache::getStats);
+			Gauge.builder("cache.size", renderedResponseCache, RenderedResponseCache::getWeightedSize)
+					.tag("cache", "rendered-responses")
+					.baseUnit("bytes")
+					.register(registry);
+			FunctionCounter.builder("blogapi.rendered.bytes.saved", renderedResponseCache,
+					RenderedResponseCache::getBytesSaved)
+					.baseUnit("bytes")
+					.register(registry);
+
+			bindCacheStats(registry, "user-principals", userPrincipalCache::getStats);
+			Gauge.builder("cache.size", userPrincipalCache, UserPrincipalCache::getSize)
+					.tag("cache", "user-principals")
+					.register(registry);
+		};
+	}
+
+	/**
+	 * Per-region hit, miss and eviction counts of the second-level cache, read from the JCache statistics
+	 * MBeans, which exist when app.secondLevelCacheStatistics is on.
+	 */
+	@Bean
+	public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+		return registry -> {
+			for (String region : hibernateCacheManager.getCacheNames()) {
+				JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region));
+			}
+		};
+	}
+
+	@Bean
+	public MeterBinder passwordHashMetrics(BoundedPasswordEncoder passwordEncoder) {
+		return registry -> {
+			Gauge.builder("blogapi.password.hash.queued", passwordEncoder, BoundedPasswordEncoder::getQueueSize)
+					.register(registry);
+			Gauge.builder("blogapi.password.hash.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+					.register(registry);
+			FunctionCounter.builder("blogapi.password.hash.rejected", passwordEncoder,
+					BoundedPasswordEncoder::getRejectedCount)
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder backgroundJobMetrics(ObjectProvider<UserStatsReconciler> userStatsReconciler,
+			ObjectProvider<TagPostCountReconciler> tagPostCountReconciler,
+			ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+		return registry -> {
+			userStatsReconciler.ifAvailable(reconciler ->
+					FunctionCounter.builder("blogapi.user.stats.repaired", reconciler,
+							UserStatsReconciler::getRepairedCount)
+							.register(registry));
+			tagPostCountReconciler.ifAvailable(reconciler ->
+					FunctionCounter.builder("blogapi.tag.post.counts.repaired", reconciler,
+							TagPostCountReconciler::getRepairedCount)
+							.register(registry));
+
+			replicaRoutingDataSource.ifAvailable(routing -> {
+				Gauge.builder("blogapi.datasource.replica.healthy", routing,
+						dataSource -> dataSource.isReplicaHealthy() ? 1 : 0)
+						.register(registry);
+				FunctionCounter.builder("blogapi.datasource.connections", routing,
+						ReplicaRoutingDataSource::getPrimaryConnectionCount)
+						.tag("target", "primary")
+						.register(registry);
+				FunctionCounter.builder("blogapi.datasource.connections", routing,
+						ReplicaRoutingDataSource::getReplicaConnectionCount)
+						.tag("target", "replica")
+						.register(registry);
+			});
+		};
+	}
+
+	private static void bindCacheStats(MeterRegistry registry, String cache, Supplier<CacheStats> stats) {
+		FunctionCounter.builder("cache.gets", stats, supplier -> supplier.get().hitCount())
+				.tag("cache", cache)
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder("cache.gets", stats, supplier -> supplier.get().missCount())
+				.tag("cache", cache)
+				.tag("result", "miss")
+				.register(registry);
+		FunctionCounter.builder("cache.evictions", stats, supplier -> supplier.get().evictionCount())
+				.tag("cache", cache)
+				.register(registry);
+	}
+}
@@ -0,0 +1,24 @@
+package com.sopromadze.blogapi.config;
+
+import com.sopromadze.blogapi.search.PostSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+	@Value(value = "${app.searchIndexDirectory:search-index}")
+	private String indexDirectory;
+
+	@Value(value = "${app.searchRefreshIntervalInMs:1000}")
+	private long refreshIntervalInMs;
+
+	@Value(value = "${app.searchRecencyHalfLifeInDays:30}")
+	private double recencyHalfLifeInDays;
+
+	@Bean(destroyMethod = "close")
+	public PostSearchIndex postSearchIndex() {
+		return new PostSearchIndex(indexDirectory, refreshIntervalInMs, recencyHalfLifeInDays);
+	}
+}
@@ -1,10 +1,12 @@
 package com.sopromadze.blogapi.config;
 
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.BoundedPasswordEncoder;
 import com.sopromadze.blogapi.security.JwtAuthenticationEntryPoint;
 import com.sopromadze.blogapi.security.JwtAuthenticationFilter;
 import com.sopromadze.blogapi.service.impl.CustomUserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,8 +19,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -31,6 +34,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final JwtAuthenticationEntryPoint unauthorizedHandler;
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+	@Value(value = "${app.bcryptStrength:10}")
+	private int bcryptStrength;
+
+	@Value(value = "${app.passwordHashThreads:0}")
+	private int passwordHashThreads;
+
+	@Value(value = "${app.passwordHashQueueCapacity:64}")
+	private int passwordHashQueueCapacity;
+
+	@Value(value = "${app.passwordHashRetryAfterInSeconds:1}")
+	private long passwordHashRetryAfterInSeconds;
+
+	@Value(value = "${management.server.port:-1}")
+	private int managementPort;
+
 	@Autowired
 	public SecurityConfig(UserRepository userRepository, CustomUserDetailsServiceImpl customUserDetailsService,
 						  JwtAuthenticationEntryPoint unauthorizedHandler, JwtAuthenticationFilter jwtAuthenticationFilter) {
@@ -53,12 +71,24 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 				.antMatchers(HttpMethod.GET, "/api/**").permitAll()
 				.antMatchers(HttpMethod.POST, "/api/auth/**").permitAll()
 				.antMatchers(HttpMethod.GET, "/api/users/checkUsernameAvailability", "/api/users/checkEmailAvailability").permitAll()
+				.antMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+				.requestMatchers(prometheusOnManagementPort()).permitAll()
+				.antMatchers("/actuator/**").hasRole("ADMIN")
 				.anyRequest().authenticated();
 
 		http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
 	}
 
+	/**
+	 * Prometheus cannot present a user token, so the scrape endpoint is open on the separate management
+	 * port, which is only reachable inside the network. Served from the application port it still needs ADMIN.
+	 */
+	private RequestMatcher prometheusOnManagementPort() {
+		RequestMatcher prometheus = new AntPathRequestMatcher("/actuator/prometheus", HttpMethod.GET.name());
+		return request -> managementPort > 0 && request.getLocalPort() == managementPort && prometheus.matches(request);
+	}
+
 	public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
 		authenticationManagerBuilder.userDetailsService(customUserDetailsService)
 				.passwordEncoder(passwordEncoder());
@@ -69,8 +99,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 		return super.authenticationManagerBean();
 	}
 
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	/**
+	 * Hashes with the configured bcrypt cost on a bounded pool. Stored hashes with a lower cost
+	 * are rehashed on the next successful login through {@link CustomUserDetailsServiceImpl#updatePassword}.
+	 * A thread count of 0 uses one thread per available processor.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public BoundedPasswordEncoder passwordEncoder() {
+		int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads,
+				passwordHashQueueCapacity, passwordHashRetryAfterInSeconds);
 	}
 }
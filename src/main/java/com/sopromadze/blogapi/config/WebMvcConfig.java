@@ -1,8 +1,10 @@
 package com.sopromadze.blogapi.config;
 
+import com.sopromadze.blogapi.metrics.QueryCountInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -11,6 +13,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	@Value("cors.allowedOrings")
 	private String allowedOrigins;
 
+	private final QueryCountInterceptor queryCountInterceptor;
+
+	public WebMvcConfig(QueryCountInterceptor queryCountInterceptor) {
+		this.queryCountInterceptor = queryCountInterceptor;
+	}
+
 	public void addCorsMappings(CorsRegistry registry) {
 		final long MAX_AGE_SECS = 3600;
 
@@ -20,4 +28,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
 				.allowedHeaders("*")
 				.maxAge(MAX_AGE_SECS);
 	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(queryCountInterceptor);
+	}
 }
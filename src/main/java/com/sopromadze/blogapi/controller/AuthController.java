@@ -11,6 +11,7 @@ import com.sopromadze.blogapi.payload.LoginRequest;
 import com.sopromadze.blogapi.payload.SignUpRequest;
 import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.BoundedPasswordEncoder;
 import com.sopromadze.blogapi.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,18 +20,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -45,23 +46,28 @@ public class AuthController {
 
 	private final RoleRepository roleRepository;
 
-	private final PasswordEncoder passwordEncoder;
+	private final BoundedPasswordEncoder passwordEncoder;
 
 	private final JwtTokenProvider jwtTokenProvider;
 
+	/*
+	 * Sign-in and sign-up are dominated by bcrypt, so both run on the password hashing pool
+	 * and hand the servlet thread back while they wait. A full pool answers 429.
+	 */
 	@PostMapping("/signin")
-	public ResponseEntity<JwtAuthenticationResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-		Authentication authentication = authenticationManager.authenticate(
-				new UsernamePasswordAuthenticationToken(loginRequest.getUsernameOrEmail(), loginRequest.getPassword()));
-
-		SecurityContextHolder.getContext().setAuthentication(authentication);
-
-		String jwt = jwtTokenProvider.generateToken(authentication);
-		return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+	public CompletableFuture<ResponseEntity<JwtAuthenticationResponse>> authenticateUser(
+			@Valid @RequestBody LoginRequest loginRequest) {
+		return passwordEncoder.supplyAsync(() -> {
+			Authentication authentication = authenticationManager.authenticate(
+					new UsernamePasswordAuthenticationToken(loginRequest.getUsernameOrEmail(), loginRequest.getPassword()));
+
+			String jwt = jwtTokenProvider.generateToken(authentication);
+			return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+		});
 	}
 
 	@PostMapping("/signup")
-	public ResponseEntity<ApiResponse> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+	public CompletableFuture<ResponseEntity<ApiResponse>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
 		if (Boolean.TRUE.equals(userRepository.existsByUsername(signUpRequest.getUsername()))) {
 			throw new BlogapiException(HttpStatus.BAD_REQUEST, "Username is already taken");
 		}
@@ -78,29 +84,33 @@ public class AuthController {
 
 		String email = signUpRequest.getEmail().toLowerCase();
 
-		String password = passwordEncoder.encode(signUpRequest.getPassword());
+		// The current request is not visible from the hashing pool
+		UriComponentsBuilder userLocation = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/users/{userId}");
 
-		User user = new User(firstName, lastName, username, email, password);
+		return passwordEncoder.supplyAsync(() -> {
+			String password = passwordEncoder.encode(signUpRequest.getPassword());
 
-		List<Role> roles = new ArrayList<>();
+			User user = new User(firstName, lastName, username, email, password);
 
-		if (userRepository.count() == 0) {
-			roles.add(roleRepository.findByName(RoleName.ROLE_USER)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-			roles.add(roleRepository.findByName(RoleName.ROLE_ADMIN)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-		} else {
-			roles.add(roleRepository.findByName(RoleName.ROLE_USER)
-					.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
-		}
+			List<Role> roles = new ArrayList<>();
+
+			if (userRepository.count() == 0) {
+				roles.add(roleRepository.findByName(RoleName.ROLE_USER)
+						.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
+				roles.add(roleRepository.findByName(RoleName.ROLE_ADMIN)
+						.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
+			} else {
+				roles.add(roleRepository.findByName(RoleName.ROLE_USER)
+						.orElseThrow(() -> new AppException(USER_ROLE_NOT_SET)));
+			}
 
-		user.setRoles(roles);
+			user.setRoles(roles);
 
-		User result = userRepository.save(user);
+			User result = userRepository.save(user);
 
-		URI location = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/users/{userId}")
-				.buildAndExpand(result.getId()).toUri();
+			URI location = userLocation.buildAndExpand(result.getId()).toUri();
 
-		return ResponseEntity.created(location).body(new ApiResponse(Boolean.TRUE, "User registered successfully"));
+			return ResponseEntity.created(location).body(new ApiResponse(Boolean.TRUE, "User registered successfully"));
+		});
 	}
 }
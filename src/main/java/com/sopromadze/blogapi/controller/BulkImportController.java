@@ -0,0 +1,85 @@
+package com.sopromadze.blogapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.payload.BulkImportSummary;
+import com.sopromadze.blogapi.payload.BulkItemResult;
+import com.sopromadze.blogapi.security.CurrentUser;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * NDJSON imports for migrating existing content: one JSON object per request line, one result per
+ * response line, followed by a {@link BulkImportSummary}. Results are written as soon as they are known
+ * (saved lines once their chunk commits), so a client can follow the progress of a long import.
+ */
+@RestController
+@RequestMapping("/api/bulk")
+@RequiredArgsConstructor
+public class BulkImportController {
+	private static final int FLUSH_EVERY_LINES = 100;
+
+	private final BulkImportService bulkImportService;
+
+	private final ObjectMapper objectMapper;
+
+	@PostMapping(value = "/posts", consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE })
+	@PreAuthorize("hasRole('ADMIN')")
+	public void importPosts(InputStream body, HttpServletResponse response, @CurrentUser UserPrincipal currentUser)
+			throws IOException {
+		stream(response, results -> bulkImportService.importPosts(body, currentUser, results));
+	}
+
+	@PostMapping(value = "/comments", consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE })
+	@PreAuthorize("hasRole('ADMIN')")
+	public void importComments(InputStream body, HttpServletResponse response, @CurrentUser UserPrincipal currentUser)
+			throws IOException {
+		stream(response, results -> bulkImportService.importComments(body, currentUser, results));
+	}
+
+	/*
+	 * Runs on the request thread and writes straight to the response: an import can take far longer than
+	 * the async request timeout that a StreamingResponseBody would be subject to.
+	 */
+	private void stream(HttpServletResponse response, Function<Consumer<BulkItemResult>, BulkImportSummary> importer)
+			throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		OutputStream out = response.getOutputStream();
+
+		int[] pending = { 0 };
+		BulkImportSummary summary = importer.apply(result -> {
+			try {
+				writeLine(out, result);
+				if (++pending[0] == FLUSH_EVERY_LINES) {
+					out.flush();
+					pending[0] = 0;
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		writeLine(out, summary);
+		out.flush();
+	}
+
+	private void writeLine(OutputStream out, Object value) throws IOException {
+		out.write(objectMapper.writeValueAsBytes(value));
+		out.write('\n');
+	}
+}
@@ -1,13 +1,16 @@
 package com.sopromadze.blogapi.controller;
 
+import com.sopromadze.blogapi.config.HttpCachePolicy;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CategoryService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,9 +25,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
+import static com.sopromadze.blogapi.utils.AppConstants.CATEGORY;
+
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
@@ -32,11 +38,21 @@ public class CategoryController {
 
 	private final CategoryService categoryService;
 
+	private final HttpCachePolicy httpCachePolicy;
+
 	@GetMapping
-	public PagedResponse<Category> getAllCategories(
+	public ResponseEntity<SliceResponse<Category>> getAllCategories(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		return categoryService.getAllCategories(page, size);
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		SliceResponse<Category> response = countMode != CountMode.EXACT
+				? categoryService.getAllCategories(page, size, countMode)
+				: categoryService.getAllCategories(page, size);
+
+		String eTag = ETags.of(response, category -> ETags.version(category.getId(), category.getUpdatedAt()));
+
+		return ResponseEntity.ok().eTag(eTag).cacheControl(httpCachePolicy.categories()).body(response);
 	}
 
 	@PostMapping
@@ -47,8 +63,16 @@ public class CategoryController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Category> getCategory(@PathVariable(name = "id") Long id) {
-		return ResponseEntity.status(HttpStatus.OK).body(categoryService.getCategory(id));
+	public ResponseEntity<Category> getCategory(@PathVariable(name = "id") Long id, WebRequest webRequest) {
+		// Categories are served from the second-level cache, so loading one to compare versions is cheap
+		Category category = categoryService.getCategory(id);
+		String eTag = ETags.of(CATEGORY, id, category.getUpdatedAt());
+		if (webRequest.checkNotModified(eTag, category.getUpdatedAt().toEpochMilli())) {
+			return null;
+		}
+
+		return ResponseEntity.ok().eTag(eTag).lastModified(category.getUpdatedAt())
+				.cacheControl(httpCachePolicy.categories()).body(category);
 	}
 
 	@PutMapping("/{id}")
@@ -3,7 +3,9 @@ package com.sopromadze.blogapi.controller;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CommentService;
@@ -34,9 +36,14 @@ public class CommentController {
 	private final CommentService commentService;
 
 	@GetMapping
-	public PagedResponse<Comment> getAllComments(@PathVariable(name = "postId") Long postId,
+	public SliceResponse<Comment> getAllComments(@PathVariable(name = "postId") Long postId,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		if (countMode != CountMode.EXACT) {
+			return commentService.getAllComments(postId, page, size, countMode);
+		}
 
 		PagedResponse<Comment> allComments = commentService.getAllComments(postId, page, size);
 
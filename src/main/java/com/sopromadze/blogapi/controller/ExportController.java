@@ -0,0 +1,66 @@
+package com.sopromadze.blogapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.payload.ExportSummary;
+import com.sopromadze.blogapi.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * NDJSON dumps for downstream pipelines: one post (with its tags and comments) per line, in id order,
+ * followed by an {@link ExportSummary}. The body is written by a StreamingResponseBody, so the export
+ * stops after app.exportMaxDurationInMs to stay within the async request timeout; an incomplete summary
+ * carries the id to pass as {@code afterId} to continue.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+	private static final int FLUSH_EVERY_LINES = 100;
+
+	private final ExportService exportService;
+
+	private final ObjectMapper objectMapper;
+
+	@GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportPosts(
+			@RequestParam(value = "afterId", required = false, defaultValue = "0") long afterId) {
+		StreamingResponseBody body = out -> {
+			int[] pending = { 0 };
+			ExportSummary summary = exportService.exportPosts(afterId, post -> {
+				try {
+					writeLine(out, post);
+					if (++pending[0] == FLUSH_EVERY_LINES) {
+						out.flush();
+						pending[0] = 0;
+					}
+				} catch (IOException e) {
+					// The client went away; unwinding closes the cursors and their connections
+					throw new UncheckedIOException(e);
+				}
+			});
+
+			writeLine(out, summary);
+			out.flush();
+		};
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	private void writeLine(OutputStream out, Object value) throws IOException {
+		out.write(objectMapper.writeValueAsBytes(value));
+		out.write('\n');
+	}
+}
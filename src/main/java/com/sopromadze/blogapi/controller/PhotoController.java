@@ -2,9 +2,11 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Photo;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PhotoService;
@@ -35,9 +37,15 @@ public class PhotoController {
 	private final PhotoService photoService;
 
 	@GetMapping
-	public PagedResponse<PhotoResponse> getAllPhotos(
+	public SliceResponse<PhotoResponse> getAllPhotos(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		if (countMode != CountMode.EXACT) {
+			return photoService.getAllPhotos(page, size, countMode);
+		}
+
 		return photoService.getAllPhotos(page, size);
 	}
 
@@ -1,17 +1,28 @@
 package com.sopromadze.blogapi.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.cache.RenderedResponse;
+import com.sopromadze.blogapi.cache.RenderedResponseCache;
+import com.sopromadze.blogapi.config.HttpCachePolicy;
+import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PostService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,46 +34,112 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.sopromadze.blogapi.utils.AppConstants.POST;
 
 @RestController
 @RequestMapping("/api/posts")
 @RequiredArgsConstructor
 public class PostController {
 
+	private static final Function<Post, Object> POST_VERSION = post -> ETags.version(post.getId(), post.getUpdatedAt());
 
 	private final PostService postService;
 
+	private final HttpCachePolicy httpCachePolicy;
+
+	private final RenderedResponseCache renderedResponseCache;
+
+	private final ObjectMapper objectMapper;
+
 	@GetMapping
-	public ResponseEntity<PagedResponse<Post>> getAllPosts(
+	public ResponseEntity<byte[]> getAllPosts(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-		PagedResponse<Post> response = postService.getAllPosts(page, size);
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "count", required = false) String count, WebRequest webRequest) {
+		CountMode countMode = CountMode.fromParameter(count);
+		String key = "posts?page=" + page + "&size=" + size + "&count=" + countMode;
 
-		return new ResponseEntity< >(response, HttpStatus.OK);
+		return rendered(key, RenderedResponseCache.ALL_POSTS, webRequest, () -> countMode != CountMode.EXACT
+				? postService.getAllPosts(page, size, countMode)
+				: postService.getAllPosts(page, size));
 	}
 
 	@GetMapping("/category/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByCategory(
+	public ResponseEntity<byte[]> getPostsByCategory(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
-			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByCategory(id, page, size);
-
-		return new ResponseEntity< >(response, HttpStatus.OK);
+			@RequestParam(value = "count", required = false) String count,
+			@PathVariable(name = "id") Long id, WebRequest webRequest) {
+		CountMode countMode = CountMode.fromParameter(count);
+		String key = "posts:category:" + id + "?page=" + page + "&size=" + size + "&count=" + countMode;
+
+		return rendered(key, RenderedResponseCache.category(id), webRequest, () -> countMode != CountMode.EXACT
+				? postService.getPostsByCategory(id, page, size, countMode)
+				: postService.getPostsByCategory(id, page, size));
 	}
 
 	@GetMapping("/tag/{id}")
-	public ResponseEntity<PagedResponse<Post>> getPostsByTag(
+	public ResponseEntity<byte[]> getPostsByTag(
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
 			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
-			@PathVariable(name = "id") Long id) {
-		PagedResponse<Post> response = postService.getPostsByTag(id, page, size);
+			@RequestParam(value = "count", required = false) String count,
+			@PathVariable(name = "id") Long id, WebRequest webRequest) {
+		CountMode countMode = CountMode.fromParameter(count);
+		String key = "posts:tag:" + id + "?page=" + page + "&size=" + size + "&count=" + countMode;
+
+		return rendered(key, RenderedResponseCache.tag(id), webRequest, () -> countMode != CountMode.EXACT
+				? postService.getPostsByTag(id, page, size, countMode)
+				: postService.getPostsByTag(id, page, size));
+	}
+
+	@GetMapping("/feed")
+	public ResponseEntity<CursorPagedResponse<Post>> getPostFeed(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		CursorPagedResponse<Post> response = postService.getPostFeed(cursor, size);
+
+		return cacheable(response);
+	}
+
+	@GetMapping("/feed/summary")
+	public ResponseEntity<CursorPagedResponse<PostSummary>> getPostSummaryFeed(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		CursorPagedResponse<PostSummary> response = postService.getPostSummaryFeed(cursor, size);
 
 		return new ResponseEntity< >(response, HttpStatus.OK);
 	}
 
+	@GetMapping("/feed/category/{id}")
+	public ResponseEntity<CursorPagedResponse<Post>> getPostFeedByCategory(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@PathVariable(name = "id") Long id) {
+		CursorPagedResponse<Post> response = postService.getPostFeedByCategory(id, cursor, size);
+
+		return cacheable(response);
+	}
+
+	@GetMapping("/feed/tag/{id}")
+	public ResponseEntity<CursorPagedResponse<Post>> getPostFeedByTag(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@PathVariable(name = "id") Long id) {
+		CursorPagedResponse<Post> response = postService.getPostFeedByTag(id, cursor, size);
+
+		return cacheable(response);
+	}
+
 	@PostMapping
 	@PreAuthorize("hasRole('USER')")
 	public ResponseEntity<PostResponse> addPost(@Valid @RequestBody PostRequest postRequest,
@@ -73,10 +150,24 @@ public class PostController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Post> getPost(@PathVariable(name = "id") Long id) {
-		Post post = postService.getPost(id);
-
-		return new ResponseEntity< >(post, HttpStatus.OK);
+	public ResponseEntity<byte[]> getPost(@PathVariable(name = "id") Long id, WebRequest webRequest) {
+		String key = RenderedResponseCache.post(id);
+		RenderedResponse rendered = renderedResponseCache.get(key);
+		if (rendered == null) {
+			long generation = renderedResponseCache.currentGeneration();
+			// Revalidation only costs a single-column lookup; the post and its associations are not loaded
+			Instant updatedAt = postService.getPostUpdatedAt(id);
+			String eTag = ETags.of(POST, id, updatedAt);
+			if (webRequest.checkNotModified(eTag, updatedAt.toEpochMilli())) {
+				return null;
+			}
+
+			Post post = postService.getPost(id);
+			rendered = new RenderedResponse(serialize(post), eTag, updatedAt.toEpochMilli(), Collections.singleton(key));
+			renderedResponseCache.put(key, generation, rendered);
+		}
+
+		return toResponseEntity(rendered, webRequest);
 	}
 
 	@PutMapping("/{id}")
@@ -95,4 +186,56 @@ public class PostController {
 
 		return new ResponseEntity< >(apiResponse, HttpStatus.OK);
 	}
+
+	/**
+	 * Serves a listing from the rendered response cache, rendering and caching it on a miss. The entry depends
+	 * on the listing itself and on every post it contains.
+	 */
+	private ResponseEntity<byte[]> rendered(String key, String listing, WebRequest webRequest,
+			Supplier<SliceResponse<Post>> loader) {
+		RenderedResponse rendered = renderedResponseCache.get(key);
+		if (rendered == null) {
+			long generation = renderedResponseCache.currentGeneration();
+			SliceResponse<Post> response = loader.get();
+
+			Set<String> dependencies = new HashSet<>();
+			dependencies.add(listing);
+			for (Post post : response.getContent()) {
+				dependencies.add(RenderedResponseCache.post(post.getId()));
+			}
+
+			rendered = new RenderedResponse(serialize(response), ETags.of(response, POST_VERSION), -1, dependencies);
+			renderedResponseCache.put(key, generation, rendered);
+		}
+
+		return toResponseEntity(rendered, webRequest);
+	}
+
+	private ResponseEntity<byte[]> toResponseEntity(RenderedResponse rendered, WebRequest webRequest) {
+		if (webRequest.checkNotModified(rendered.getETag(), rendered.getLastModified())) {
+			return null;
+		}
+
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+				.eTag(rendered.getETag()).cacheControl(httpCachePolicy.posts());
+		if (rendered.getLastModified() > 0) {
+			builder.lastModified(rendered.getLastModified());
+		}
+
+		return builder.body(rendered.getBody());
+	}
+
+	private byte[] serialize(Object response) {
+		try {
+			return objectMapper.writeValueAsBytes(response);
+		} catch (JsonProcessingException ex) {
+			throw new AppException("Could not serialise response", ex);
+		}
+	}
+
+	private ResponseEntity<CursorPagedResponse<Post>> cacheable(CursorPagedResponse<Post> response) {
+		String eTag = ETags.of(response.getContent(), POST_VERSION, String.valueOf(response.getNextCursor()));
+
+		return ResponseEntity.ok().eTag(eTag).cacheControl(httpCachePolicy.posts()).body(response);
+	}
 }
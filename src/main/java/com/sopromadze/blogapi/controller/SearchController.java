@@ -0,0 +1,45 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SearchResult;
+import com.sopromadze.blogapi.service.SearchService;
+import com.sopromadze.blogapi.utils.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+	private final SearchService searchService;
+
+	@GetMapping
+	public ResponseEntity<PagedResponse<SearchResult>> search(
+			@RequestParam(name = "q", required = false) String query,
+			@RequestParam(name = "type", required = false) SearchResult.Type type,
+			@RequestParam(name = "categoryId", required = false) Long categoryId,
+			@RequestParam(name = "tag", required = false) String tag,
+			@RequestParam(name = "author", required = false) String author,
+			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		PagedResponse<SearchResult> response = searchService.search(query, type, categoryId, tag, author, page, size);
+
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+
+	@PostMapping("/reindex")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<ApiResponse> reindex() {
+		ApiResponse apiResponse = searchService.reindex();
+
+		return new ResponseEntity<>(apiResponse, HttpStatus.ACCEPTED);
+	}
+}
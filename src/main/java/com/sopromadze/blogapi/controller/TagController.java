@@ -1,12 +1,15 @@
 package com.sopromadze.blogapi.controller;
 
+import com.sopromadze.blogapi.config.HttpCachePolicy;
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.payload.ApiResponse;
-import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TagService;
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,25 +24,37 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.util.function.Function;
+
+import static com.sopromadze.blogapi.utils.AppConstants.TAG;
 
 @RestController
 @RequestMapping("/api/tags")
 @RequiredArgsConstructor
 public class TagController {
 
+	// post_count is maintained outside Hibernate and does not touch updatedAt, so it is part of the version
+	private static final Function<Tag, Object> TAG_VERSION = tag -> ETags.version(tag.getId(), tag.getUpdatedAt())
+			+ "/" + tag.getPostCount();
 
 	private final TagService tagService;
 
+	private final HttpCachePolicy httpCachePolicy;
+
 	@GetMapping
-	public ResponseEntity<PagedResponse<Tag>> getAllTags(
+	public ResponseEntity<SliceResponse<Tag>> getAllTags(
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
-
-		PagedResponse<Tag> response = tagService.getAllTags(page, size);
-
-		return ResponseEntity.status(HttpStatus.OK).body(response);
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		SliceResponse<Tag> response = countMode != CountMode.EXACT ? tagService.getAllTags(page, size, countMode)
+				: tagService.getAllTags(page, size);
+
+		return ResponseEntity.ok().eTag(ETags.of(response, TAG_VERSION)).cacheControl(httpCachePolicy.tags())
+				.body(response);
 	}
 
 	@PostMapping
@@ -51,10 +66,16 @@ public class TagController {
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Tag> getTag(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Tag> getTag(@PathVariable(name = "id") Long id, WebRequest webRequest) {
+		// Tags are served from the second-level cache, so loading one to compare versions is cheap
 		Tag tag = tagService.getTag(id);
+		String eTag = ETags.of(TAG, id, tag.getUpdatedAt(), tag.getPostCount());
+		// No Last-Modified: updatedAt does not move when post_count does, so If-Modified-Since would return stale counts
+		if (webRequest.checkNotModified(eTag)) {
+			return null;
+		}
 
-		return ResponseEntity.status(HttpStatus.OK).body(tag);
+		return ResponseEntity.ok().eTag(eTag).cacheControl(httpCachePolicy.tags()).body(tag);
 	}
 
 	@PutMapping("/{id}")
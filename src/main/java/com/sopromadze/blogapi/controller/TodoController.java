@@ -2,7 +2,9 @@ package com.sopromadze.blogapi.controller;
 
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.CurrentUser;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.TodoService;
@@ -34,10 +36,16 @@ public class TodoController {
 
 	@GetMapping
 	@PreAuthorize("hasRole('USER')")
-	public ResponseEntity<PagedResponse<Todo>> getAllTodos(
+	public ResponseEntity<SliceResponse<Todo>> getAllTodos(
 			@CurrentUser UserPrincipal currentUser,
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(name = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(name = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		if (countMode != CountMode.EXACT) {
+			return new ResponseEntity< >(todoService.getAllTodos(currentUser, page, size, countMode), HttpStatus.OK);
+		}
+
 
 		PagedResponse<Todo> response = todoService.getAllTodos(currentUser, page, size);
 
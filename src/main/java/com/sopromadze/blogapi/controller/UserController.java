@@ -4,9 +4,13 @@ import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
+import com.sopromadze.blogapi.payload.UserPatchRequest;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
 import com.sopromadze.blogapi.security.CurrentUser;
@@ -22,6 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -74,14 +79,29 @@ public class UserController {
 	}
 
 	@GetMapping("/{username}/posts")
-	public ResponseEntity<PagedResponse<Post>> getPostsCreatedBy(@PathVariable(value = "username") String username,
+	public ResponseEntity<SliceResponse<Post>> getPostsCreatedBy(@PathVariable(value = "username") String username,
 			@RequestParam(value = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
-			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size,
+			@RequestParam(value = "count", required = false) String count) {
+		CountMode countMode = CountMode.fromParameter(count);
+		if (countMode != CountMode.EXACT) {
+			return new ResponseEntity<  >(postService.getPostsByCreatedBy(username, page, size, countMode), HttpStatus.OK);
+		}
+
 		PagedResponse<Post> response = postService.getPostsByCreatedBy(username, page, size);
 
 		return new ResponseEntity<  >(response, HttpStatus.OK);
 	}
 
+	@GetMapping("/{username}/posts/feed")
+	public ResponseEntity<CursorPagedResponse<Post>> getPostFeedCreatedBy(@PathVariable(value = "username") String username,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = AppConstants.DEFAULT_PAGE_SIZE) Integer size) {
+		CursorPagedResponse<Post> response = postService.getPostFeedByCreatedBy(username, cursor, size);
+
+		return new ResponseEntity<  >(response, HttpStatus.OK);
+	}
+
 	@GetMapping("/{username}/albums")
 	public ResponseEntity<PagedResponse<Album>> getUserAlbums(@PathVariable(name = "username") String username,
 			@RequestParam(name = "page", required = false, defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) Integer page,
@@ -109,6 +129,15 @@ public class UserController {
 		return new ResponseEntity< >(updatedUSer, HttpStatus.CREATED);
 	}
 
+	@PatchMapping("/{username}")
+	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+	public ResponseEntity<User> patchUser(@Valid @RequestBody UserPatchRequest patchRequest,
+			@PathVariable(value = "username") String username, @CurrentUser UserPrincipal currentUser) {
+		User updatedUser = userService.patchUser(patchRequest, username, currentUser);
+
+		return new ResponseEntity< >(updatedUser, HttpStatus.OK);
+	}
+
 	@DeleteMapping("/{username}")
 	@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
 	public ResponseEntity<ApiResponse> deleteUser(@PathVariable(value = "username") String username,
@@ -0,0 +1,188 @@
+package com.sopromadze.blogapi.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must be wrapped in a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for a connection before it marks the
+ * transaction read-only, and the proxy defers that until the first statement.
+ * <p>
+ * A user whose read-write transaction committed keeps reading from the primary for the stickiness
+ * period, so they see their own writes despite replication lag. The stickiness is per instance. The
+ * primary is also used while {@link #checkReplica()} finds the replica down or lagging, and when a
+ * replica connection cannot be obtained.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private static final String WRITE_HEARTBEAT = "UPDATE replica_heartbeat SET beat = ? WHERE id = 1";
+
+	private static final String READ_HEARTBEAT = "SELECT beat FROM replica_heartbeat WHERE id = 1";
+
+	private static final int VALIDATION_TIMEOUT_IN_SECONDS = 1;
+
+	private final DataSource primary;
+
+	private final DataSource replica;
+
+	private final long maxLagInMs;
+
+	private final Cache<Long, Boolean> stickyUsers;
+
+	private final AtomicBoolean replicaHealthy = new AtomicBoolean(true);
+
+	private final LongAdder replicaConnections = new LongAdder();
+
+	private final LongAdder primaryConnections = new LongAdder();
+
+	/**
+	 * @param maxLagInMs replicas further behind than this are skipped; 0 disables the heartbeat check, for
+	 * stand-ins that do not replicate the replica_heartbeat table. The lag is only known to within one
+	 * check interval, so this has to be larger than the interval.
+	 */
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long stickinessInMs, long maxLagInMs) {
+		this.primary = primary;
+		this.replica = replica;
+		this.maxLagInMs = maxLagInMs;
+		this.stickyUsers = Caffeine.newBuilder()
+				.expireAfterWrite(stickinessInMs, TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return route(DataSource::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return route(dataSource -> dataSource.getConnection(username, password));
+	}
+
+	/**
+	 * Probes the replica and, when a maximum lag is set, writes a heartbeat to the primary and compares it
+	 * with the one the replica has received.
+	 */
+	@Scheduled(fixedDelayString = "${app.replicaHealthCheckIntervalInMs:1000}")
+	public void checkReplica() {
+		boolean healthy;
+		try {
+			long now = System.currentTimeMillis();
+			if (maxLagInMs > 0) {
+				new JdbcTemplate(primary).update(WRITE_HEARTBEAT, now);
+			}
+			healthy = maxLagInMs > 0 ? isReplicaCaughtUp(now) : isReplicaValid();
+		} catch (RuntimeException | SQLException e) {
+			LOGGER.debug("Replica check failed", e);
+			healthy = false;
+		}
+
+		if (replicaHealthy.getAndSet(healthy) != healthy) {
+			if (healthy) {
+				LOGGER.info("Replica healthy again, routing read-only transactions to it");
+			} else {
+				LOGGER.warn("Replica down or lagging, reading from the primary until it recovers");
+			}
+		}
+	}
+
+	public boolean isReplicaHealthy() {
+		return replicaHealthy.get();
+	}
+
+	public long getReplicaConnectionCount() {
+		return replicaConnections.sum();
+	}
+
+	public long getPrimaryConnectionCount() {
+		return primaryConnections.sum();
+	}
+
+	private Connection route(ConnectionOpener opener) throws SQLException {
+		if (useReplica()) {
+			try {
+				Connection connection = opener.open(replica);
+				replicaConnections.increment();
+				return connection;
+			} catch (SQLException e) {
+				if (replicaHealthy.compareAndSet(true, false)) {
+					LOGGER.warn("Replica unavailable, reading from the primary until it recovers", e);
+				}
+			}
+		}
+
+		markStickyOnCommit();
+		primaryConnections.increment();
+		return opener.open(primary);
+	}
+
+	private boolean useReplica() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !replicaHealthy.get()) {
+			return false;
+		}
+
+		Long userId = currentUserId();
+		return userId == null || stickyUsers.getIfPresent(userId) == null;
+	}
+
+	/*
+	 * Only a transaction that actually reaches the database gets here, so read-write transactions that are
+	 * rolled back or never touch a connection do not pin the user to the primary.
+	 */
+	private void markStickyOnCommit() {
+		Long userId = currentUserId();
+		if (userId == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				|| !TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				stickyUsers.put(userId, Boolean.TRUE);
+			}
+		});
+	}
+
+	private boolean isReplicaCaughtUp(long now) {
+		Long beat = new JdbcTemplate(replica).queryForObject(READ_HEARTBEAT, Long.class);
+		return beat != null && now - beat <= maxLagInMs;
+	}
+
+	private boolean isReplicaValid() throws SQLException {
+		try (Connection connection = replica.getConnection()) {
+			return connection.isValid(VALIDATION_TIMEOUT_IN_SECONDS);
+		}
+	}
+
+	private static Long currentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+			return ((UserPrincipal) authentication.getPrincipal()).getId();
+		}
+		return null;
+	}
+
+	@FunctionalInterface
+	private interface ConnectionOpener {
+		Connection open(DataSource dataSource) throws SQLException;
+	}
+}
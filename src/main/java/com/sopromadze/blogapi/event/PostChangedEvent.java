@@ -0,0 +1,64 @@
+package com.sopromadze.blogapi.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by the services whenever a post, or something rendered as part of a post, changes. Listeners
+ * receive it after the surrounding transaction commits.
+ */
+@Getter
+@ToString
+public class PostChangedEvent {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED, COMMENTED
+	}
+
+	private final Type type;
+
+	private final Long postId;
+
+	/**
+	 * Categories whose post listings are affected; both the old and the new one when a post is moved.
+	 */
+	private final Set<Long> categoryIds;
+
+	private final Set<Long> tagIds;
+
+	public PostChangedEvent(Type type, Long postId, Collection<Long> categoryIds, Collection<Long> tagIds) {
+		this.type = type;
+		this.postId = postId;
+		this.categoryIds = copyWithoutNulls(categoryIds);
+		this.tagIds = copyWithoutNulls(tagIds);
+	}
+
+	public static PostChangedEvent commented(Long postId) {
+		return new PostChangedEvent(Type.COMMENTED, postId, Collections.emptySet(), Collections.emptySet());
+	}
+
+	/**
+	 * Creating or deleting a post shifts every page of the listings it appears in.
+	 */
+	public boolean isStructural() {
+		return type == Type.CREATED || type == Type.DELETED;
+	}
+
+	private static Set<Long> copyWithoutNulls(Collection<Long> ids) {
+		Set<Long> copy = new LinkedHashSet<>();
+		if (ids != null) {
+			for (Long id : ids) {
+				if (id != null) {
+					copy.add(id);
+				}
+			}
+		}
+
+		return Collections.unmodifiableSet(copy);
+	}
+}
@@ -0,0 +1,28 @@
+package com.sopromadze.blogapi.exception;
+
+import com.sopromadze.blogapi.payload.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private ApiResponse apiResponse;
+
+	private long retryAfterInSeconds;
+
+	public TooManyRequestsException(ApiResponse apiResponse, long retryAfterInSeconds) {
+		super();
+		this.apiResponse = apiResponse;
+		this.retryAfterInSeconds = retryAfterInSeconds;
+	}
+
+	public ApiResponse getApiResponse() {
+		return apiResponse;
+	}
+
+	public long getRetryAfterInSeconds() {
+		return retryAfterInSeconds;
+	}
+}
@@ -0,0 +1,82 @@
+package com.sopromadze.blogapi.mapper;
+
+import com.sopromadze.blogapi.model.Album;
+import com.sopromadze.blogapi.model.Photo;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.AlbumResponse;
+import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.UserProfile;
+import com.sopromadze.blogapi.payload.UserSummary;
+import com.sopromadze.blogapi.payload.request.AlbumRequest;
+import com.sopromadze.blogapi.security.UserPrincipal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps entities to response payloads with plain getters and setters, so mapping costs no reflection
+ * and a renamed property breaks the build instead of silently leaving a field empty. Only the
+ * properties listed here are copied; anything new on a payload has to be added by hand.
+ */
+public final class PayloadMapper {
+
+	private PayloadMapper() {
+	}
+
+	public static AlbumResponse toAlbumResponse(Album album) {
+		AlbumResponse response = new AlbumResponse();
+		response.setId(album.getId());
+		response.setTitle(album.getTitle());
+		response.setUser(album.getUser());
+		response.setPhoto(album.getPhoto());
+		response.setCreatedAt(album.getCreatedAt());
+		response.setUpdatedAt(album.getUpdatedAt());
+		response.setCreatedBy(album.getCreatedBy());
+		response.setUpdatedBy(album.getUpdatedBy());
+		return response;
+	}
+
+	public static List<AlbumResponse> toAlbumResponses(List<Album> albums) {
+		List<AlbumResponse> responses = new ArrayList<>(albums.size());
+		for (Album album : albums) {
+			responses.add(toAlbumResponse(album));
+		}
+		return responses;
+	}
+
+	/**
+	 * Copies what a client may set on a new album. The id, owner and audit fields are assigned by the
+	 * server, and photos are added through the photo endpoints.
+	 */
+	public static void copyAlbumRequest(AlbumRequest request, Album album) {
+		album.setTitle(request.getTitle());
+	}
+
+	public static PhotoResponse toPhotoResponse(Photo photo) {
+		return new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(), photo.getThumbnailUrl(),
+				photo.getAlbum().getId());
+	}
+
+	public static PostResponse toPostResponse(Post post, List<String> tagNames) {
+		PostResponse response = new PostResponse();
+		response.setTitle(post.getTitle());
+		response.setBody(post.getBody());
+		response.setCategory(post.getCategory().getName());
+		response.setTags(tagNames);
+		return response;
+	}
+
+	public static UserSummary toUserSummary(UserPrincipal user) {
+		return new UserSummary(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName());
+	}
+
+	public static UserProfile toUserProfile(User user, UserStats stats) {
+		return new UserProfile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+				user.getCreatedAt(), user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
+				user.getCompany(), stats.getPostCount(), stats.getCommentCount(), stats.getAlbumCount(),
+				stats.getTodoCount());
+	}
+}
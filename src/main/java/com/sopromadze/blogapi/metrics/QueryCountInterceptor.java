@@ -0,0 +1,63 @@
+package com.sopromadze.blogapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the statements each request ran, from the moment its controller was chosen until the response
+ * was written, as blogapi.http.queries tagged with the endpoint. Lazy loading during JSON rendering is
+ * included. Requests running more than app.queryCountWarnThreshold statements are logged and counted in
+ * blogapi.http.queries.exceeded, which is how N+1 loading shows up in production.
+ */
+@Component
+public class QueryCountInterceptor implements HandlerInterceptor {
+	private static final Logger LOGGER = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+	public static final String QUERIES_SUMMARY = "blogapi.http.queries";
+
+	public static final String EXCEEDED_COUNTER = "blogapi.http.queries.exceeded";
+
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	private final MeterRegistry meterRegistry;
+
+	private final long warnThreshold;
+
+	public QueryCountInterceptor(MeterRegistry meterRegistry,
+			@Value(value = "${app.queryCountWarnThreshold:20}") long warnThreshold) {
+		this.meterRegistry = meterRegistry;
+		this.warnThreshold = warnThreshold;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		QueryCounter.reset();
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		long statements = QueryCounter.getTotalCount();
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? UNKNOWN_URI : pattern.toString());
+
+		meterRegistry.summary(QUERIES_SUMMARY, tags).record(statements);
+
+		if (warnThreshold > 0 && statements > warnThreshold) {
+			meterRegistry.counter(EXCEEDED_COUNTER, tags).increment();
+			LOGGER.warn("{} {} ran {} statements ({} selects), more than the {} allowed; look for lazy loading in a loop",
+					request.getMethod(), request.getRequestURI(), statements, QueryCounter.getSelectCount(),
+					warnThreshold);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.sopromadze.blogapi.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, by kind. Registered as
+ * hibernate.session_factory.statement_inspector in application.yml, so Hibernate creates the instance
+ * and the counts live in a thread local shared by all instances. Batched inserts and updates count
+ * once per batch, because the statement is prepared once.
+ * <p>
+ * {@link QueryCountInterceptor} resets the counts when a request reaches its controller; tests reset
+ * them before the code under test and read them afterwards.
+ */
+public class QueryCounter implements StatementInspector {
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+	@Override
+	public String inspect(String sql) {
+		COUNTS.get().record(sql);
+		return sql;
+	}
+
+	public static void reset() {
+		COUNTS.get().reset();
+	}
+
+	public static long getSelectCount() {
+		return COUNTS.get().selects;
+	}
+
+	public static long getInsertCount() {
+		return COUNTS.get().inserts;
+	}
+
+	public static long getUpdateCount() {
+		return COUNTS.get().updates;
+	}
+
+	public static long getDeleteCount() {
+		return COUNTS.get().deletes;
+	}
+
+	public static long getTotalCount() {
+		Counts counts = COUNTS.get();
+		return counts.selects + counts.inserts + counts.updates + counts.deletes + counts.others;
+	}
+
+	private static final class Counts {
+		long selects;
+
+		long inserts;
+
+		long updates;
+
+		long deletes;
+
+		long others;
+
+		void record(String sql) {
+			int start = 0;
+			while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+				start++;
+			}
+
+			if (startsWith(sql, start, "select") || startsWith(sql, start, "with")) {
+				selects++;
+			} else if (startsWith(sql, start, "insert")) {
+				inserts++;
+			} else if (startsWith(sql, start, "update")) {
+				updates++;
+			} else if (startsWith(sql, start, "delete")) {
+				deletes++;
+			} else {
+				others++;
+			}
+		}
+
+		void reset() {
+			selects = 0;
+			inserts = 0;
+			updates = 0;
+			deletes = 0;
+			others = 0;
+		}
+
+		private static boolean startsWith(String sql, int start, String keyword) {
+			return sql.regionMatches(true, start, keyword, 0, keyword.length());
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.sopromadze.blogapi.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Records how many rows each repository query returned as blogapi.repository.rows, tagged with the
+ * repository and method. Counts, existence checks and streams are not row results and are skipped.
+ */
+public class RepositoryRowsInterceptor implements MethodInterceptor {
+	public static final String ROWS_SUMMARY = "blogapi.repository.rows";
+
+	private final MeterRegistry meterRegistry;
+
+	private final String repository;
+
+	private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+	public RepositoryRowsInterceptor(MeterRegistry meterRegistry, Class<?> repositoryInterface) {
+		this.meterRegistry = meterRegistry;
+		this.repository = repositoryInterface.getSimpleName();
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object result = invocation.proceed();
+
+		long rows = rows(invocation.getMethod(), result);
+		if (rows >= 0) {
+			summaries.computeIfAbsent(invocation.getMethod(), method -> DistributionSummary.builder(ROWS_SUMMARY)
+					.tag("repository", repository)
+					.tag("method", method.getName())
+					.register(meterRegistry))
+					.record(rows);
+		}
+		return result;
+	}
+
+	private static long rows(Method method, Object result) {
+		Class<?> type = method.getReturnType();
+		if (type == void.class || type.isPrimitive() || Number.class.isAssignableFrom(type)
+				|| Boolean.class.isAssignableFrom(type) || Stream.class.isAssignableFrom(type)) {
+			return -1;
+		}
+		if (result == null) {
+			return 0;
+		}
+		if (result instanceof Slice) {
+			return ((Slice<?>) result).getNumberOfElements();
+		}
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Optional) {
+			return ((Optional<?>) result).isPresent() ? 1 : 0;
+		}
+		return 1;
+	}
+}
@@ -0,0 +1,46 @@
+package com.sopromadze.blogapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the service beans as blogapi.service, tagged with the service class,
+ * the method and the exception thrown ("none" on success), so the count of each timer doubles as a
+ * call and error counter. Repository calls are timed by Spring Boot as spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+	public static final String SERVICE_TIMER = "blogapi.service";
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry meterRegistry;
+
+	public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(public * com.sopromadze.blogapi.service.*Service+.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = NONE;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(SERVICE_TIMER)
+					.tag("service", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("exception", exception)
+					.register(meterRegistry));
+		}
+	}
+}
@@ -5,13 +5,14 @@ import com.sopromadze.blogapi.model.audit.UserDateAudit;
 import com.sopromadze.blogapi.model.user.User;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
@@ -19,7 +20,6 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotBlank;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,7 +31,9 @@ public class Album extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "album_seq")
+	@GenericGenerator(name = "album_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = PooledIdGenerator.SEQUENCE_PARAM, value = "album_seq"))
 	private Long id;
 
 	@NotBlank
@@ -51,7 +53,7 @@ public class Album extends UserDateAudit {
 	}
 
 	public List<Photo> getPhoto() {
-		return this.photo == null ? null : new ArrayList<>(this.photo);
+		return this.photo == null ? null : Collections.unmodifiableList(this.photo);
 	}
 
 	public void setPhoto(List<Photo> photo) {
@@ -1,11 +1,15 @@
 package com.sopromadze.blogapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.sopromadze.blogapi.config.HibernateCacheConfig;
 import com.sopromadze.blogapi.model.audit.UserDateAudit;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -15,7 +19,6 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -24,6 +27,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Table(name = "categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CATEGORY_REGION)
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Category extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
@@ -35,6 +39,7 @@ public class Category extends UserDateAudit {
 	@Column(name = "name")
 	private String name;
 
+	@JsonIgnore
 	@OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Post> posts;
 
@@ -44,7 +49,7 @@ public class Category extends UserDateAudit {
 	}
 
 	public List<Post> getPosts() {
-		return this.posts == null ? null : new ArrayList<>(this.posts);
+		return this.posts == null ? null : Collections.unmodifiableList(this.posts);
 	}
 
 	public void setPosts(List<Post> posts) {
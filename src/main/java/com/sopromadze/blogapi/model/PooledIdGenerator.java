@@ -0,0 +1,49 @@
+package com.sopromadze.blogapi.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Pooled id generator shared by the entities that are inserted in volume. Ids come from a sequence where
+ * the dialect has them and from a one-row table otherwise (MySQL), {@value #DEFAULT_ALLOCATION_SIZE} per
+ * round trip by default, so Hibernate can batch the inserts; IDENTITY ids would force one statement per row.
+ * Allocation size, optimizer and forcing the table structure are read from the Hibernate settings below,
+ * which {@link com.sopromadze.blogapi.config.IdGenerationConfig} fills from the {@code app.id*} properties.
+ * Parameters on a mapping still win over the settings.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+	public static final String STRATEGY = "com.sopromadze.blogapi.model.PooledIdGenerator";
+
+	public static final String ALLOCATION_SIZE_SETTING = "blogapi.id.allocation_size";
+
+	public static final String OPTIMIZER_SETTING = "blogapi.id.optimizer";
+
+	public static final String FORCE_TABLE_SETTING = "blogapi.id.force_table";
+
+	public static final String DEFAULT_ALLOCATION_SIZE = "50";
+
+	public static final String DEFAULT_OPTIMIZER = "pooled-lo";
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+
+		Properties pooled = new Properties();
+		pooled.putAll(params);
+		pooled.putIfAbsent(INCREMENT_PARAM,
+				configuration.getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.STRING, DEFAULT_ALLOCATION_SIZE));
+		pooled.putIfAbsent(OPT_PARAM,
+				configuration.getSetting(OPTIMIZER_SETTING, StandardConverters.STRING, DEFAULT_OPTIMIZER));
+		pooled.putIfAbsent(FORCE_TBL_PARAM,
+				configuration.getSetting(FORCE_TABLE_SETTING, StandardConverters.STRING, "false"));
+
+		super.configure(type, pooled, serviceRegistry);
+	}
+}
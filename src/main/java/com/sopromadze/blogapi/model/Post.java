@@ -5,16 +5,20 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.sopromadze.blogapi.model.audit.UserDateAudit;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.utils.AppConstants;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
@@ -22,20 +26,24 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Data
-@Table(name = "posts", uniqueConstraints = { @UniqueConstraint(columnNames = { "title" }) })
+@Table(name = "posts", uniqueConstraints = { @UniqueConstraint(columnNames = { "title" }) }, indexes = {
+		@Index(name = "idx_posts_created_at_id", columnList = "createdAt, id"),
+		@Index(name = "idx_posts_created_by_created_at_id", columnList = "createdBy, createdAt, id"),
+		@Index(name = "idx_posts_category_id_created_at_id", columnList = "category_id, createdAt, id") })
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Post extends UserDateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "post_seq")
+	@GenericGenerator(name = "post_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = PooledIdGenerator.SEQUENCE_PARAM, value = "post_seq"))
 	private Long id;
 
 	@Column(name = "title")
@@ -56,8 +64,10 @@ public class Post extends UserDateAudit {
 	@OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<Comment> comments;
 
+	@BatchSize(size = AppConstants.MAX_PAGE_SIZE)
 	@ManyToMany(fetch = FetchType.LAZY)
-	@JoinTable(name = "post_tag", joinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
+	@JoinTable(name = "post_tag", joinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"),
+			indexes = @Index(name = "idx_post_tag_tag_id_post_id", columnList = "tag_id, post_id"))
 	private List<Tag> tags;
 
 	@JsonIgnore
@@ -70,7 +80,7 @@ public class Post extends UserDateAudit {
 	}
 
 	public List<Comment> getComments() {
-		return comments == null ? null : new ArrayList<>(comments);
+		return comments == null ? null : Collections.unmodifiableList(comments);
 	}
 
 	public void setComments(List<Comment> comments) {
@@ -82,7 +92,7 @@ public class Post extends UserDateAudit {
 	}
 
 	public List<Tag> getTags() {
-		return tags == null ? null : new ArrayList<>(tags);
+		return tags == null ? null : Collections.unmodifiableList(tags);
 	}
 
 	public void setTags(List<Tag> tags) {
@@ -1,24 +1,30 @@
 package com.sopromadze.blogapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sopromadze.blogapi.config.HibernateCacheConfig;
 import com.sopromadze.blogapi.model.audit.UserDateAudit;
 import com.sopromadze.blogapi.model.Post;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
-import java.util.ArrayList;
+import javax.persistence.UniqueConstraint;
 import java.util.Collections;
 import java.util.List;
 
@@ -26,21 +32,33 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "tags")
+@Table(name = "tags", uniqueConstraints = { @UniqueConstraint(columnNames = { "name" }) })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TAG_REGION)
 //@JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Tag extends UserDateAudit {
 
 	private static final long serialVersionUID = -5298707266367331514L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "tag_seq")
+	@GenericGenerator(name = "tag_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = PooledIdGenerator.SEQUENCE_PARAM, value = "tag_seq"))
 	private Long id;
 
 	@Column(name = "name")
 	private String name;
 
+	/**
+	 * Maintained by PostServiceImpl when posts are created or deleted, so listings never count post_tag.
+	 * Written only through TagRepository.adjustPostCount; a cached Tag may lag behind by the region TTL.
+	 */
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	@ColumnDefault("0")
+	@Column(name = "post_count", nullable = false, insertable = false, updatable = false)
+	private long postCount;
+
 	@JsonIgnore
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "post_tag", joinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"), inverseJoinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"))
 	private List<Post> posts;
 
@@ -50,7 +68,7 @@ public class Tag extends UserDateAudit {
 	}
 
 	public List<Post> getPosts() {
-		return posts == null ? null : new ArrayList<>(posts);
+		return posts == null ? null : Collections.unmodifiableList(posts);
 	}
 
 	public void setPosts(List<Post> posts) {
@@ -1,7 +1,10 @@
 package com.sopromadze.blogapi.model.role;
 
+import com.sopromadze.blogapi.config.HibernateCacheConfig;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NaturalId;
 
 import javax.persistence.Column;
@@ -17,6 +20,7 @@ import javax.persistence.Table;
 @Data
 @NoArgsConstructor
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = HibernateCacheConfig.ROLE_REGION)
 public class Role {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
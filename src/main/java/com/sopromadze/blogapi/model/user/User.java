@@ -7,18 +7,22 @@ import com.sopromadze.blogapi.model.audit.DateAudit;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.role.Role;
+import com.sopromadze.blogapi.model.PooledIdGenerator;
 import com.sopromadze.blogapi.model.Todo;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
@@ -30,7 +34,6 @@ import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,13 +41,16 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
+@DynamicUpdate
 @Table(name = "users", uniqueConstraints = { @UniqueConstraint(columnNames = { "username" }),
 		@UniqueConstraint(columnNames = { "email" }) })
 public class User extends DateAudit {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "user_seq")
+	@GenericGenerator(name = "user_seq", strategy = PooledIdGenerator.STRATEGY,
+			parameters = @Parameter(name = PooledIdGenerator.SEQUENCE_PARAM, value = "user_seq"))
 	@Column(name = "id")
 	private Long id;
 
@@ -110,6 +116,15 @@ public class User extends DateAudit {
 	@JoinColumn(name = "company_id")
 	private Company company;
 
+	/**
+	 * Raised whenever the user's roles or profile change, so tokens carrying an older version are no longer
+	 * trusted on their own. Written only through UserRepository.incrementTokenVersion.
+	 */
+	@JsonIgnore
+	@ColumnDefault("0")
+	@Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+	private long tokenVersion;
+
 	public User(String firstName, String lastName, String username, String email, String password) {
 		this.firstName = firstName;
 		this.lastName = lastName;
@@ -122,7 +137,7 @@ public class User extends DateAudit {
 
 	public List<Todo> getTodos() {
 
-		return todos == null ? null : new ArrayList<>(todos);
+		return todos == null ? null : Collections.unmodifiableList(todos);
 	}
 
 	public void setTodos(List<Todo> todos) {
@@ -136,7 +151,7 @@ public class User extends DateAudit {
 
 	public List<Album> getAlbums() {
 
-		return albums == null ? null : new ArrayList<>(albums);
+		return albums == null ? null : Collections.unmodifiableList(albums);
 	}
 
 	public void setAlbums(List<Album> albums) {
@@ -151,7 +166,7 @@ public class User extends DateAudit {
 
 	public List<Post> getPosts() {
 
-		return posts == null ? null : new ArrayList<>(posts);
+		return posts == null ? null : Collections.unmodifiableList(posts);
 	}
 
 	public void setPosts(List<Post> posts) {
@@ -165,7 +180,7 @@ public class User extends DateAudit {
 
 	public List<Role> getRoles() {
 
-		return roles == null ? null : new ArrayList<>(roles);
+		return roles == null ? null : Collections.unmodifiableList(roles);
 	}
 
 	public void setRoles(List<Role> roles) {
@@ -178,7 +193,7 @@ public class User extends DateAudit {
 	}
 
 	public List<Comment> getComments() {
-		return comments == null ? null : new ArrayList<>(comments);
+		return comments == null ? null : Collections.unmodifiableList(comments);
 	}
 
 	public void setComments(List<Comment> comments) {
@@ -0,0 +1,64 @@
+package com.sopromadze.blogapi.model.user;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * Denormalised per-user counters. Rows are only written through
+ * {@link com.sopromadze.blogapi.repository.UserStatsRepositoryCustom}, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@Table(name = "user_stats")
+public class UserStats implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "post_count", nullable = false)
+	private long postCount;
+
+	@Column(name = "comment_count", nullable = false)
+	private long commentCount;
+
+	@Column(name = "album_count", nullable = false)
+	private long albumCount;
+
+	@Column(name = "todo_count", nullable = false)
+	private long todoCount;
+
+	public enum Counter {
+		POSTS("post_count", "posts"),
+		COMMENTS("comment_count", "comments"),
+		ALBUMS("album_count", "albums"),
+		TODOS("todo_count", "todos");
+
+		private final String column;
+
+		private final String sourceTable;
+
+		Counter(String column, String sourceTable) {
+			this.column = column;
+			this.sourceTable = sourceTable;
+		}
+
+		public String getColumn() {
+			return column;
+		}
+
+		public String getSourceTable() {
+			return sourceTable;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * One line of a bulk comment import; unlike {@link CommentRequest} it names its post.
+ */
+@Data
+public class BulkCommentRequest {
+	@NotNull
+	private Long postId;
+
+	@NotBlank
+	@Size(min = 10, message = "Comment body must be minimum 10 characters")
+	private String body;
+}
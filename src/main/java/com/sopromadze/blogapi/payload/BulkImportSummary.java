@@ -0,0 +1,16 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last line of a bulk import response.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportSummary {
+	private long created;
+	private long failed;
+}
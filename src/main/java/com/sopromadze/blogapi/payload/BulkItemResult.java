@@ -0,0 +1,51 @@
+package com.sopromadze.blogapi.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one line of a bulk import, streamed back as a line of NDJSON.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(Include.NON_NULL)
+public class BulkItemResult {
+	private long line;
+	private boolean success;
+	private Long id;
+	private List<String> errors;
+
+	public static BulkItemResult created(long line, Long id) {
+		BulkItemResult result = new BulkItemResult();
+		result.setLine(line);
+		result.setSuccess(true);
+		result.setId(id);
+		return result;
+	}
+
+	public static BulkItemResult failed(long line, List<String> errors) {
+		BulkItemResult result = new BulkItemResult();
+		result.setLine(line);
+		result.setSuccess(false);
+		result.setErrors(errors);
+		return result;
+	}
+
+	public static BulkItemResult failed(long line, String error) {
+		return failed(line, Collections.singletonList(error));
+	}
+
+	public List<String> getErrors() {
+		return errors == null ? null : Collections.unmodifiableList(errors);
+	}
+
+	public void setErrors(List<String> errors) {
+		this.errors = errors == null ? null : new ArrayList<>(errors);
+	}
+}
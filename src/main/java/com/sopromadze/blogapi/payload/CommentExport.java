@@ -0,0 +1,20 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A comment as written by the post export, nested in its {@link PostExport}.
+ */
+@Data
+@NoArgsConstructor
+public class CommentExport {
+	private Long id;
+	private String name;
+	private String email;
+	private String body;
+	private Long userId;
+	private Instant createdAt;
+}
@@ -0,0 +1,29 @@
+package com.sopromadze.blogapi.payload;
+
+import com.sopromadze.blogapi.exception.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * How list endpoints compute {@code totalElements}: {@code exact} runs a COUNT query on every request,
+ * {@code estimated} reuses a cached count that may be slightly stale, {@code none} skips totals entirely.
+ */
+public enum CountMode {
+	EXACT,
+	ESTIMATED,
+	NONE;
+
+	public static CountMode fromParameter(String value) {
+		if (!StringUtils.hasText(value)) {
+			return EXACT;
+		}
+
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new BadRequestException(new ApiResponse(Boolean.FALSE,
+					"Parameter 'count' must be one of 'exact', 'estimated' or 'none'"));
+		}
+	}
+}
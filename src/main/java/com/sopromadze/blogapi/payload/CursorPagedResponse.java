@@ -0,0 +1,41 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class CursorPagedResponse<T> {
+	private List<T> content;
+	private int size;
+	private String nextCursor;
+	private boolean last;
+
+	public CursorPagedResponse() {
+
+	}
+
+	public CursorPagedResponse(List<T> content, int size, String nextCursor, boolean last) {
+		setContent(content);
+		this.size = size;
+		this.nextCursor = nextCursor;
+		this.last = last;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public final void setContent(List<T> content) {
+		if (content == null) {
+			this.content = null;
+		} else {
+			this.content = Collections.unmodifiableList(content);
+		}
+	}
+
+	public boolean isLast() {
+		return last;
+	}
+}
@@ -0,0 +1,16 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last line of an export. When {@code complete} is false the export stopped early and the rest can be
+ * fetched by passing {@code lastId} as {@code afterId}.
+ */
+@Data
+@NoArgsConstructor
+public class ExportSummary {
+	private long exported;
+	private long lastId;
+	private boolean complete;
+}
@@ -1,48 +1,34 @@
 package com.sopromadze.blogapi.payload;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 @Data
-public class PagedResponse<T> {
-	private List<T> content;
-	private int page;
-	private int size;
+@JsonPropertyOrder({
+		"content",
+		"page",
+		"size",
+		"totalElements",
+		"totalPages",
+		"last"
+})
+public class PagedResponse<T> extends SliceResponse<T> {
 	private long totalElements;
 	private int totalPages;
-	private boolean last;
 
 	public PagedResponse() {
 
 	}
 
 	public PagedResponse(List<T> content, int page, int size, long totalElements, int totalPages, boolean last) {
-		setContent(content);
-		this.page = page;
-		this.size = size;
+		super(content, page, size, last);
 		this.totalElements = totalElements;
 		this.totalPages = totalPages;
-		this.last = last;
-	}
-
-	public List<T> getContent() {
-		return content == null ? null : new ArrayList<>(content);
-	}
-
-	public final void setContent(List<T> content) {
-		if (content == null) {
-			this.content = null;
-		} else {
-			this.content = Collections.unmodifiableList(content);
-		}
-	}
-
-
-
-	public boolean isLast() {
-		return last;
 	}
 }
@@ -0,0 +1,43 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One line of the post export: a post with its tag names and comments, built from cursor rows rather
+ * than entities.
+ */
+@Data
+@NoArgsConstructor
+public class PostExport {
+	private Long id;
+	private String title;
+	private String body;
+	private Long userId;
+	private Long categoryId;
+	private List<String> tags;
+	private List<CommentExport> comments;
+	private Instant createdAt;
+	private Instant updatedAt;
+
+	public List<String> getTags() {
+		return tags == null ? null : Collections.unmodifiableList(tags);
+	}
+
+	public void setTags(List<String> tags) {
+		this.tags = tags == null ? null : new ArrayList<>(tags);
+	}
+
+	public List<CommentExport> getComments() {
+		return comments == null ? null : Collections.unmodifiableList(comments);
+	}
+
+	public void setComments(List<CommentExport> comments) {
+		this.comments = comments == null ? null : new ArrayList<>(comments);
+	}
+}
@@ -2,7 +2,6 @@ package com.sopromadze.blogapi.payload;
 
 import lombok.Data;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,7 +16,7 @@ public class PostResponse {
 
 	public List<String> getTags() {
 
-		return tags == null ? null : new ArrayList<>(tags);
+		return tags;
 	}
 
 	public void setTags(List<String> tags) {
@@ -0,0 +1,51 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a post with exactly the columns a feed renders, built directly by a JPQL
+ * constructor expression so no entity, proxy or lazy association is involved.
+ */
+@Data
+@NoArgsConstructor
+public class PostSummary {
+	private Long id;
+	private String title;
+	private String body;
+	private Long categoryId;
+	private String category;
+	private List<String> tags;
+	private Instant createdAt;
+	private Long createdBy;
+
+	public PostSummary(Long id, String title, String body, Long categoryId, String category, Instant createdAt,
+			Long createdBy) {
+		this.id = id;
+		this.title = title;
+		this.body = body;
+		this.categoryId = categoryId;
+		this.category = category;
+		this.createdAt = createdAt;
+		this.createdBy = createdBy;
+		this.tags = Collections.emptyList();
+	}
+
+	public List<String> getTags() {
+
+		return tags;
+	}
+
+	public void setTags(List<String> tags) {
+
+		if (tags == null) {
+			this.tags = null;
+		} else {
+			this.tags = Collections.unmodifiableList(tags);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One search hit: a post, or a comment together with the post it belongs to. Highlights are HTML
+ * escaped fragments of the matched text with the matching terms wrapped in {@code <em>}.
+ */
+@Data
+@NoArgsConstructor
+public class SearchResult {
+
+	public enum Type {
+		POST, COMMENT
+	}
+
+	private Type type;
+	private Long postId;
+	private Long commentId;
+	private String title;
+	private List<String> highlights;
+	private Long categoryId;
+	private Long userId;
+	private Instant createdAt;
+	private float score;
+
+	public List<String> getHighlights() {
+		return highlights == null ? null : Collections.unmodifiableList(highlights);
+	}
+
+	public void setHighlights(List<String> highlights) {
+		this.highlights = highlights == null ? null : new ArrayList<>(highlights);
+	}
+}
@@ -0,0 +1,27 @@
+package com.sopromadze.blogapi.payload;
+
+import lombok.Data;
+
+import javax.validation.constraints.Size;
+
+/**
+ * Partial update of a user; fields left null keep their current value.
+ */
+@Data
+public class UserPatchRequest {
+
+	@Size(min = 4, max = 40)
+	private String firstName;
+
+	@Size(min = 4, max = 40)
+	private String lastName;
+
+	@Size(min = 6, max = 20)
+	private String password;
+
+	@Size(max = 255)
+	private String phone;
+
+	@Size(max = 255)
+	private String website;
+}
@@ -23,4 +23,7 @@ public class UserProfile {
 	private String website;
 	private Company company;
 	private Long postCount;
+	private Long commentCount;
+	private Long albumCount;
+	private Long todoCount;
 }
@@ -5,7 +5,6 @@ import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.UserDateAuditPayload;
 import lombok.Data;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,7 +21,7 @@ public class AlbumRequest extends UserDateAuditPayload {
 
 	public List<Photo> getPhoto() {
 
-		return photo == null ? null : new ArrayList<>(photo);
+		return photo;
 	}
 
 	public void setPhoto(List<Photo> photo) {
@@ -1,10 +1,15 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	@Query("SELECT c FROM Category c")
+	Slice<Category> findSliceBy(Pageable pageable);
 }
@@ -3,10 +3,15 @@ package com.sopromadze.blogapi.repository;
 import com.sopromadze.blogapi.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 	Page<Comment> findByPostId(Long postId, Pageable pageable);
+
+	Slice<Comment> findSliceByPostId(Long postId, Pageable pageable);
+
+	Long countByPostId(Long postId);
 }
@@ -3,10 +3,21 @@ package com.sopromadze.blogapi.repository;
 import com.sopromadze.blogapi.model.Photo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PhotoRepository extends JpaRepository<Photo, Long> {
 	Page<Photo> findByAlbumId(Long albumId, Pageable pageable);
+
+	@Query("SELECT p FROM Photo p")
+	Slice<Photo> findSliceBy(Pageable pageable);
+
+	@Query("SELECT a.user.id FROM Photo p JOIN p.album a WHERE p.id = :id")
+	Optional<Long> findOwnerIdById(@Param("id") Long id);
 }
@@ -2,20 +2,138 @@ package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.payload.PostSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+	// Feed queries fetch the category in the same select; tags are collections and cannot be joined
+	// without breaking the LIMIT, so they are batch loaded instead (see Post#tags).
+
+	@Override
+	@EntityGraph(attributePaths = "category")
+	Page<Post> findAll(Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
 	Page<Post> findByCreatedBy(Long userId, Pageable pageable);
 
+	@EntityGraph(attributePaths = "category")
 	Page<Post> findByCategoryId(Long categoryId, Pageable pageable);
 
+	@EntityGraph(attributePaths = "category")
 	Page<Post> findByTagsIn(List<Tag> tags, Pageable pageable);
 
 	Long countByCreatedBy(Long userId);
+
+	@Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+	List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT p.title FROM Post p WHERE p.title IN :titles")
+	List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+	@Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+	Long findMaxId();
+
+	@Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id")
+	Optional<Instant> findUpdatedAtById(@Param("id") Long id);
+
+	Long countByCategoryId(Long categoryId);
+
+	Long countByTagsId(Long tagId);
+
+	// Slice variants fetch one extra row to know whether a next page exists instead of running a COUNT query.
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p")
+	Slice<Post> findSliceBy(Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	Slice<Post> findSliceByCreatedBy(Long userId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	Slice<Post> findSliceByCategoryId(Long categoryId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	Slice<Post> findSliceByTagsIn(List<Tag> tags, Pageable pageable);
+
+	// Keyset (seek) queries: return a plain List so no COUNT query is issued, and
+	// continue strictly after the (createdAt, id) of the last row already seen.
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findFirstPage(Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p WHERE p.createdBy = :userId ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findFirstPageByCreatedBy(@Param("userId") Long userId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p WHERE p.createdBy = :userId "
+			+ "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findPageAfterByCreatedBy(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p WHERE p.category.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findFirstPageByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p WHERE p.category.id = :categoryId "
+			+ "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findPageAfterByCategoryId(@Param("categoryId") Long categoryId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p JOIN p.tags t WHERE t.id = :tagId ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findFirstPageByTagId(@Param("tagId") Long tagId, Pageable pageable);
+
+	@EntityGraph(attributePaths = "category")
+	@Query("SELECT p FROM Post p JOIN p.tags t WHERE t.id = :tagId "
+			+ "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<Post> findPageAfterByTagId(@Param("tagId") Long tagId, @Param("createdAt") Instant createdAt,
+			@Param("id") Long id, Pageable pageable);
+
+	// Summary projections: only the columns a feed renders, tags are then read for the whole page in one query.
+
+	@Query("SELECT new com.sopromadze.blogapi.payload.PostSummary(p.id, p.title, p.body, c.id, c.name, p.createdAt, p.createdBy) "
+			+ "FROM Post p LEFT JOIN p.category c ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostSummary> findFirstSummaryPage(Pageable pageable);
+
+	@Query("SELECT new com.sopromadze.blogapi.payload.PostSummary(p.id, p.title, p.body, c.id, c.name, p.createdAt, p.createdBy) "
+			+ "FROM Post p LEFT JOIN p.category c "
+			+ "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostSummary> findSummaryPageAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+	@Query("SELECT t.id FROM Post p JOIN p.tags t WHERE p.id = :postId")
+	List<Long> findTagIdsByPostId(@Param("postId") Long postId);
+
+	@Query("SELECT p.id AS postId, t.name AS name FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+	List<PostTagName> findTagNamesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+	interface PostTagName {
+		Long getPostId();
+
+		String getName();
+	}
 }
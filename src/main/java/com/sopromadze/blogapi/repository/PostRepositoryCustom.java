@@ -0,0 +1,18 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.payload.PostExport;
+
+import java.util.function.Predicate;
+
+public interface PostRepositoryCustom {
+
+	/**
+	 * Streams the posts with {@code afterId < id <= upToId} in id order, each with its tags and comments,
+	 * over forward-only cursors of stateless sessions: nothing is kept in a persistence context and only
+	 * the current post is held in memory. Stops as soon as {@code sink} returns false.
+	 * <p>
+	 * Posts, tags and comments are read by three cursors on three connections, so the result is not a
+	 * snapshot: comments added while the export runs may or may not be included.
+	 */
+	void streamExport(long afterId, long upToId, Predicate<PostExport> sink);
+}
@@ -0,0 +1,133 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.payload.CommentExport;
+import com.sopromadze.blogapi.payload.PostExport;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+@RequiredArgsConstructor
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+	private static final String EXPORT_POSTS = "SELECT p.id, p.title, p.body, p.user.id, p.category.id, p.createdAt, p.updatedAt "
+			+ "FROM Post p WHERE p.id > :afterId AND p.id <= :upToId ORDER BY p.id";
+
+	private static final String EXPORT_TAGS = "SELECT p.id, t.name FROM Post p JOIN p.tags t "
+			+ "WHERE p.id > :afterId AND p.id <= :upToId ORDER BY p.id, t.name";
+
+	private static final String EXPORT_COMMENTS = "SELECT c.post.id, c.id, c.name, c.email, c.body, c.user.id, c.createdAt "
+			+ "FROM Comment c WHERE c.post.id > :afterId AND c.post.id <= :upToId ORDER BY c.post.id, c.id";
+
+	private static final int EXPORT_FETCH_SIZE = 1000;
+
+	private final EntityManager entityManager;
+
+	@Override
+	public void streamExport(long afterId, long upToId, Predicate<PostExport> sink) {
+		SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactoryImplementor.class);
+		// Connector/J only streams a result set row by row with this fetch size; any other value buffers it whole
+		int fetchSize = sessionFactory.getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE
+				: EXPORT_FETCH_SIZE;
+
+		// One session, and so one connection, per cursor: MySQL cannot run a statement on a connection
+		// that is still streaming another result
+		try (StatelessSession postSession = sessionFactory.openStatelessSession();
+				StatelessSession tagSession = sessionFactory.openStatelessSession();
+				StatelessSession commentSession = sessionFactory.openStatelessSession();
+				Cursor posts = new Cursor(postSession, EXPORT_POSTS, afterId, upToId, fetchSize);
+				Cursor tags = new Cursor(tagSession, EXPORT_TAGS, afterId, upToId, fetchSize);
+				Cursor comments = new Cursor(commentSession, EXPORT_COMMENTS, afterId, upToId, fetchSize)) {
+			tags.advance();
+			comments.advance();
+			while (posts.advance()) {
+				PostExport post = toPostExport(posts.row);
+				long postId = post.getId();
+
+				// Rows of posts deleted since the post cursor was opened are skipped
+				List<String> tagNames = new ArrayList<>();
+				for (; tags.row != null && tags.postId() <= postId; tags.advance()) {
+					if (tags.postId() == postId) {
+						tagNames.add((String) tags.row[1]);
+					}
+				}
+				post.setTags(tagNames);
+
+				List<CommentExport> postComments = new ArrayList<>();
+				for (; comments.row != null && comments.postId() <= postId; comments.advance()) {
+					if (comments.postId() == postId) {
+						postComments.add(toCommentExport(comments.row));
+					}
+				}
+				post.setComments(postComments);
+
+				if (!sink.test(post)) {
+					return;
+				}
+			}
+		}
+	}
+
+	private static PostExport toPostExport(Object[] row) {
+		PostExport post = new PostExport();
+		post.setId(((Number) row[0]).longValue());
+		post.setTitle((String) row[1]);
+		post.setBody((String) row[2]);
+		post.setUserId((Long) row[3]);
+		post.setCategoryId((Long) row[4]);
+		post.setCreatedAt((Instant) row[5]);
+		post.setUpdatedAt((Instant) row[6]);
+		return post;
+	}
+
+	private static CommentExport toCommentExport(Object[] row) {
+		CommentExport comment = new CommentExport();
+		comment.setId((Long) row[1]);
+		comment.setName((String) row[2]);
+		comment.setEmail((String) row[3]);
+		comment.setBody((String) row[4]);
+		comment.setUserId((Long) row[5]);
+		comment.setCreatedAt((Instant) row[6]);
+		return comment;
+	}
+
+	/*
+	 * Forward-only cursor over rows whose first column is a post id, with the current row kept for peeking.
+	 */
+	private static final class Cursor implements AutoCloseable {
+		private final ScrollableResults results;
+
+		private Object[] row;
+
+		private Cursor(StatelessSession session, String query, long afterId, long upToId, int fetchSize) {
+			this.results = session.createQuery(query)
+					.setParameter("afterId", afterId)
+					.setParameter("upToId", upToId)
+					.setFetchSize(fetchSize)
+					.scroll(ScrollMode.FORWARD_ONLY);
+		}
+
+		private boolean advance() {
+			row = results.next() ? results.get() : null;
+			return row != null;
+		}
+
+		private long postId() {
+			return ((Number) row[0]).longValue();
+		}
+
+		@Override
+		public void close() {
+			results.close();
+		}
+	}
+}
@@ -1,11 +1,16 @@
 package com.sopromadze.blogapi.repository;
 
+import com.sopromadze.blogapi.config.HibernateCacheConfig;
 import com.sopromadze.blogapi.model.role.Role;
 import com.sopromadze.blogapi.model.role.RoleName;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+	@org.springframework.data.jpa.repository.QueryHints({ @QueryHint(name = QueryHints.CACHEABLE, value = "true"),
+			@QueryHint(name = QueryHints.CACHE_REGION, value = HibernateCacheConfig.ROLE_BY_NAME_REGION) })
 	Optional<Role> findByName(RoleName name);
 }
@@ -1,10 +1,27 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Tag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 	Tag findByName(String name);
+
+	List<Tag> findByNameIn(Collection<String> names);
+
+	@Query("SELECT t FROM Tag t")
+	Slice<Tag> findSliceBy(Pageable pageable);
+
+	// Tag.posts is lazy; callers that really need the posts of a tag have to ask for them explicitly.
+	@EntityGraph(attributePaths = "posts")
+	Optional<Tag> findWithPostsById(Long id);
 }
@@ -0,0 +1,30 @@
+package com.sopromadze.blogapi.repository;
+
+import java.util.Collection;
+
+public interface TagRepositoryCustom {
+
+	/**
+	 * Inserts one tag per name in a single JDBC batch, silently skipping names that already exist
+	 * (relies on the unique index on {@code tags.name}). Ids are drawn from the Tag id generator, so a skipped
+	 * name wastes one id.
+	 */
+	void insertIgnoringExisting(Collection<String> names, Long userId);
+
+	/**
+	 * Adds {@code delta} to the post count of every given tag in one statement. It bypasses Hibernate on
+	 * purpose: a bulk JPQL update would evict the whole tag region of the second-level cache on every post.
+	 * Counts never go below zero; drift is repaired by {@link #reconcilePostCounts}, not by failing the write.
+	 */
+	int adjustPostCount(Collection<Long> ids, long delta);
+
+	/**
+	 * Recounts the posts of the tags with {@code afterId < id <= upToId} from post_tag and rewrites the
+	 * counts that drifted, in one statement.
+	 *
+	 * @return number of tags repaired
+	 */
+	int reconcilePostCounts(long afterId, long upToId);
+
+	long findMaxTagId();
+}
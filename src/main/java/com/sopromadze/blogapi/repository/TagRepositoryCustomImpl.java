@@ -0,0 +1,79 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.Tag;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+	private static final String INSERT_IGNORING_EXISTING = "INSERT INTO tags (id, name, post_count, created_at, updated_at, created_by, updated_by) "
+			+ "VALUES (?, ?, 0, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+	// post_count is unsigned on MySQL, so a decrement must never be evaluated below zero (error 1690)
+	private static final String ADJUST_POST_COUNT = "UPDATE tags SET post_count = "
+			+ "CASE WHEN post_count < ? THEN 0 ELSE post_count + ? END WHERE id IN (%s)";
+
+	private static final String RECONCILE_POST_COUNTS = "UPDATE tags t "
+			+ "SET post_count = (SELECT COUNT(*) FROM post_tag pt WHERE pt.tag_id = t.id) "
+			+ "WHERE t.id > ? AND t.id <= ? AND t.post_count <> (SELECT COUNT(*) FROM post_tag pt WHERE pt.tag_id = t.id)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final EntityManager entityManager;
+
+	@Override
+	public void insertIgnoringExisting(Collection<String> names, Long userId) {
+		if (names.isEmpty()) {
+			return;
+		}
+
+		// Ids must come from the same pool as Hibernate's, or the two would hand out colliding ids
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		IdentifierGenerator idGenerator = session.getFactory().getIdentifierGenerator(Tag.class.getName());
+
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Object[]> rows = new ArrayList<>(names.size());
+		for (String name : names) {
+			rows.add(new Object[] { idGenerator.generate(session, null), name, now, now, userId, userId });
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_IGNORING_EXISTING, rows);
+	}
+
+	@Override
+	public int adjustPostCount(Collection<Long> ids, long delta) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+		List<Object> arguments = new ArrayList<>(ids.size() + 2);
+		arguments.add(delta < 0 ? -delta : 0);
+		arguments.add(delta);
+		arguments.addAll(ids);
+
+		return jdbcTemplate.update(String.format(ADJUST_POST_COUNT, placeholders), arguments.toArray());
+	}
+
+	@Override
+	public int reconcilePostCounts(long afterId, long upToId) {
+		return jdbcTemplate.update(RECONCILE_POST_COUNTS, afterId, upToId);
+	}
+
+	@Override
+	public long findMaxTagId() {
+		Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tags", Long.class);
+		return maxId == null ? 0 : maxId;
+	}
+}
@@ -3,10 +3,15 @@ package com.sopromadze.blogapi.repository;
 import com.sopromadze.blogapi.model.Todo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 	Page<Todo> findByCreatedBy(Long userId, Pageable pageable);
+
+	Slice<Todo> findSliceByCreatedBy(Long userId, Pageable pageable);
+
+	Long countByCreatedBy(Long userId);
 }
@@ -4,7 +4,11 @@ import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotBlank;
 import java.util.Optional;
@@ -21,6 +25,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByUsernameOrEmail(String username, String email);
 
+	@Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+	Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+	/**
+	 * Joins the caller's transaction when there is one, so the new version commits together with the change
+	 * that caused it.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+	int incrementTokenVersion(@Param("id") Long id);
+
 	default User getUser(UserPrincipal currentUser) {
 		return getUserByName(currentUser.getUsername());
 	}
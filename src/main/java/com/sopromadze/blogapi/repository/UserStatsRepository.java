@@ -0,0 +1,9 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.user.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long>, UserStatsRepositoryCustom {
+}
@@ -0,0 +1,36 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.user.UserStats;
+
+public interface UserStatsRepositoryCustom {
+
+	/**
+	 * Adds {@code delta} to one counter of a user in a single upsert, creating the row when it is missing.
+	 * Counters never go below zero. Runs in the caller's transaction, so it commits or rolls back together
+	 * with the change it counts.
+	 */
+	void adjust(Long userId, UserStats.Counter counter, long delta);
+
+	/**
+	 * Decrements the comment count of every user who commented on the post. Must be called before the
+	 * post is deleted, since its comments go with it.
+	 */
+	void releaseCommentsOf(Long postId);
+
+	/**
+	 * Recounts the users with {@code afterId < id <= upToId} and repairs rows that drifted or are missing.
+	 * A row is only overwritten if it still holds the values that were read, so a concurrent
+	 * {@link #adjust} is never lost; such a row is simply repaired on a later pass.
+	 *
+	 * @return number of rows inserted or repaired
+	 */
+	int reconcile(long afterId, long upToId);
+
+	/**
+	 * Counts a user's rows in the source tables without writing anything, for users whose row the
+	 * reconciler has not created yet.
+	 */
+	UserStats countFromSource(Long userId);
+
+	long findMaxUserId();
+}
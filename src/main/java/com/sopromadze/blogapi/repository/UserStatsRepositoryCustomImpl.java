@@ -0,0 +1,133 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.user.UserStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UserStatsRepositoryCustomImpl implements UserStatsRepositoryCustom {
+
+	/*
+	 * The counters are unsigned on MySQL, where col + ? fails with error 1690 as soon as the result would be
+	 * negative, before GREATEST could clamp it. The CASE compares against the decrement as a non-negative
+	 * number instead and only evaluates col + ? when the result stays at or above zero.
+	 */
+	private static final String ADJUST = "INSERT INTO user_stats (user_id, post_count, comment_count, album_count, todo_count) "
+			+ "VALUES (?, %1$s) ON DUPLICATE KEY UPDATE %2$s = CASE WHEN %2$s < ? THEN 0 ELSE %2$s + ? END";
+
+	private static final String COMMENTERS_OF_POST = "SELECT user_id, COUNT(*) FROM comments "
+			+ "WHERE post_id = ? AND user_id IS NOT NULL GROUP BY user_id";
+
+	private static final String RECOUNT = "SELECT u.id, "
+			+ "(SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id), "
+			+ "(SELECT COUNT(*) FROM comments c WHERE c.user_id = u.id), "
+			+ "(SELECT COUNT(*) FROM albums a WHERE a.user_id = u.id), "
+			+ "(SELECT COUNT(*) FROM todos t WHERE t.user_id = u.id), "
+			+ "s.user_id, s.post_count, s.comment_count, s.album_count, s.todo_count "
+			+ "FROM users u LEFT JOIN user_stats s ON s.user_id = u.id WHERE u.id > ? AND u.id <= ?";
+
+	private static final String COUNT_FROM_SOURCE = "SELECT "
+			+ "(SELECT COUNT(*) FROM posts WHERE user_id = ?), "
+			+ "(SELECT COUNT(*) FROM comments WHERE user_id = ?), "
+			+ "(SELECT COUNT(*) FROM albums WHERE user_id = ?), "
+			+ "(SELECT COUNT(*) FROM todos WHERE user_id = ?)";
+
+	private static final String INSERT_MISSING = "INSERT INTO user_stats (user_id, post_count, comment_count, album_count, todo_count) "
+			+ "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE user_id = user_id";
+
+	private static final String REPAIR = "UPDATE user_stats SET post_count = ?, comment_count = ?, album_count = ?, todo_count = ? "
+			+ "WHERE user_id = ? AND post_count = ? AND comment_count = ? AND album_count = ? AND todo_count = ?";
+
+	private static final Map<UserStats.Counter, String> ADJUST_COUNTERS = new EnumMap<>(UserStats.Counter.class);
+
+	static {
+		for (UserStats.Counter counter : UserStats.Counter.values()) {
+			List<String> values = new ArrayList<>();
+			for (UserStats.Counter column : UserStats.Counter.values()) {
+				values.add(column == counter ? "GREATEST(?, 0)" : "0");
+			}
+			ADJUST_COUNTERS.put(counter, String.format(ADJUST, String.join(", ", values), counter.getColumn()));
+		}
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void adjust(Long userId, UserStats.Counter counter, long delta) {
+		if (userId == null || delta == 0) {
+			return;
+		}
+
+		jdbcTemplate.update(ADJUST_COUNTERS.get(counter), adjustArguments(userId, delta));
+	}
+
+	@Override
+	public void releaseCommentsOf(Long postId) {
+		List<Object[]> commenters = jdbcTemplate.query(COMMENTERS_OF_POST,
+				(rs, rowNum) -> adjustArguments(rs.getLong(1), -rs.getLong(2)), postId);
+		if (!commenters.isEmpty()) {
+			jdbcTemplate.batchUpdate(ADJUST_COUNTERS.get(UserStats.Counter.COMMENTS), commenters);
+		}
+	}
+
+	@Override
+	public int reconcile(long afterId, long upToId) {
+		List<Object[]> missing = new ArrayList<>();
+		List<Object[]> drifted = new ArrayList<>();
+		jdbcTemplate.query(RECOUNT, rs -> {
+			long userId = rs.getLong(1);
+			long[] actual = { rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5) };
+			rs.getLong(6);
+			if (rs.wasNull()) {
+				missing.add(new Object[] { userId, actual[0], actual[1], actual[2], actual[3] });
+				return;
+			}
+
+			long[] stored = { rs.getLong(7), rs.getLong(8), rs.getLong(9), rs.getLong(10) };
+			if (actual[0] != stored[0] || actual[1] != stored[1] || actual[2] != stored[2] || actual[3] != stored[3]) {
+				drifted.add(new Object[] { actual[0], actual[1], actual[2], actual[3], userId,
+						stored[0], stored[1], stored[2], stored[3] });
+			}
+		}, afterId, upToId);
+
+		return sum(missing.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_MISSING, missing))
+				+ sum(drifted.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(REPAIR, drifted));
+	}
+
+	@Override
+	public UserStats countFromSource(Long userId) {
+		return jdbcTemplate.queryForObject(COUNT_FROM_SOURCE, (rs, rowNum) -> {
+			UserStats stats = new UserStats();
+			stats.setUserId(userId);
+			stats.setPostCount(rs.getLong(1));
+			stats.setCommentCount(rs.getLong(2));
+			stats.setAlbumCount(rs.getLong(3));
+			stats.setTodoCount(rs.getLong(4));
+			return stats;
+		}, userId, userId, userId, userId);
+	}
+
+	@Override
+	public long findMaxUserId() {
+		Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+		return maxId == null ? 0 : maxId;
+	}
+
+	private static Object[] adjustArguments(Long userId, long delta) {
+		return new Object[] { userId, delta, delta < 0 ? -delta : 0, delta };
+	}
+
+	private static int sum(int[] updateCounts) {
+		int total = 0;
+		for (int count : updateCounts) {
+			// Statement.SUCCESS_NO_INFO (-2) with rewriteBatchedStatements; count it as one row
+			total += count < 0 ? 1 : Math.min(count, 1);
+		}
+		return total;
+	}
+}
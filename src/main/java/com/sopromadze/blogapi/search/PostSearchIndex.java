@@ -0,0 +1,464 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.payload.CommentExport;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostExport;
+import com.sopromadze.blogapi.payload.SearchResult;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.function.FunctionScoreQuery;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.DoubleValues;
+import org.apache.lucene.search.DoubleValuesSource;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Embedded Lucene index of posts and comments, one document each, kept in a local directory. Writes are
+ * made visible by near-real-time reopens of the searcher every refresh interval, without a commit;
+ * {@link #commit()} makes them durable. Scores are the text relevance multiplied by a recency boost that
+ * halves with every half-life of age, so among equally relevant hits the newer ones come first.
+ */
+public class PostSearchIndex implements Closeable {
+	static final String TYPE = "type";
+
+	static final String POST_KEY = "postKey";
+
+	static final String POST_ID = "postId";
+
+	static final String COMMENT_ID = "commentId";
+
+	static final String TITLE = "title";
+
+	static final String POST_TITLE = "postTitle";
+
+	static final String BODY = "body";
+
+	static final String CATEGORY_ID = "categoryId";
+
+	static final String TAG = "tag";
+
+	static final String USER_ID = "userId";
+
+	static final String CREATED_AT = "createdAt";
+
+	private static final int FRAGMENT_SIZE = 150;
+
+	private static final int MAX_FRAGMENTS = 2;
+
+	private static final Map<String, Float> FIELD_WEIGHTS = new HashMap<>();
+
+	static {
+		FIELD_WEIGHTS.put(TITLE, 2f);
+		FIELD_WEIGHTS.put(BODY, 1f);
+	}
+
+	/**
+	 * Streams the posts with {@code afterId < id <= upToId} in id order, the shape of
+	 * {@link com.sopromadze.blogapi.repository.PostRepositoryCustom#streamExport}.
+	 */
+	@FunctionalInterface
+	public interface PostSource {
+		void stream(long afterId, long upToId, Predicate<PostExport> sink);
+	}
+
+	private final Analyzer analyzer = new StandardAnalyzer();
+
+	private final Directory directory;
+
+	private final IndexWriter writer;
+
+	private final SearcherManager searcherManager;
+
+	private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+	private final double halfLifeInMs;
+
+	public PostSearchIndex(String path, long refreshIntervalInMs, double recencyHalfLifeInDays) {
+		this.halfLifeInMs = TimeUnit.DAYS.toMillis(1) * recencyHalfLifeInDays;
+		try {
+			this.directory = FSDirectory.open(Paths.get(path));
+			this.writer = new IndexWriter(directory,
+					new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+			this.searcherManager = new SearcherManager(writer, null);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not open search index in " + path, e);
+		}
+
+		double refreshIntervalInSeconds = refreshIntervalInMs / 1000.0;
+		this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, refreshIntervalInSeconds,
+				Math.min(refreshIntervalInSeconds, 0.1));
+		this.reopenThread.setName("search-index-reopen");
+		this.reopenThread.setDaemon(true);
+		this.reopenThread.start();
+	}
+
+	/**
+	 * Brings every post with {@code afterId < id <= upToId} in line with {@code source}: each post it
+	 * streams replaces the documents of that post and its comments atomically, and the documents of ids it
+	 * skips are removed, so searches never see a post missing while it is reindexed.
+	 *
+	 * @return number of posts indexed
+	 */
+	public long replaceRange(long afterId, long upToId, PostSource source) {
+		long[] previousId = { afterId };
+		long[] indexed = { 0 };
+		try {
+			source.stream(afterId, upToId, post -> {
+				try {
+					deleteBetween(previousId[0], post.getId() - 1);
+					writer.updateDocuments(new Term(POST_KEY, String.valueOf(post.getId())), toDocuments(post));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				previousId[0] = post.getId();
+				indexed[0]++;
+				return true;
+			});
+			deleteBetween(previousId[0], upToId);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return indexed[0];
+	}
+
+	public PagedResponse<SearchResult> search(String text, SearchFilter filter, int page, int size) {
+		Query textQuery = parse(text);
+		BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+		if (filter.getType() != null) {
+			query.add(new TermQuery(new Term(TYPE, filter.getType().name())), BooleanClause.Occur.FILTER);
+		}
+		if (filter.getCategoryId() != null) {
+			query.add(LongPoint.newExactQuery(CATEGORY_ID, filter.getCategoryId()), BooleanClause.Occur.FILTER);
+		}
+		if (filter.getTag() != null) {
+			query.add(new TermQuery(new Term(TAG, filter.getTag().toLowerCase(Locale.ROOT))), BooleanClause.Occur.FILTER);
+		}
+		if (filter.getUserId() != null) {
+			query.add(LongPoint.newExactQuery(USER_ID, filter.getUserId()), BooleanClause.Occur.FILTER);
+		}
+		Query ranked = FunctionScoreQuery.boostByValue(query.build(),
+				new RecencyBoost(System.currentTimeMillis(), halfLifeInMs));
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				// page is unbounded client input: never collect more hits than there are documents
+				long start = (long) page * size;
+				int maxDoc = searcher.getIndexReader().maxDoc();
+				if (size > 0 && start >= maxDoc) {
+					int totalHits = searcher.count(ranked);
+					return new PagedResponse<>(Collections.emptyList(), page, size, totalHits,
+							totalPages(totalHits, size), true);
+				}
+
+				TopScoreDocCollector collector = TopScoreDocCollector.create(
+						(int) Math.max(Math.min(start + size, maxDoc), 1), Integer.MAX_VALUE);
+				searcher.search(ranked, collector);
+				TopDocs top = collector.topDocs((int) start, size);
+
+				Map<String, Highlighter> highlighters = new HashMap<>();
+				for (String field : FIELD_WEIGHTS.keySet()) {
+					QueryScorer scorer = new QueryScorer(textQuery, field);
+					Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+							new SimpleHTMLEncoder(), scorer);
+					highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, FRAGMENT_SIZE));
+					highlighters.put(field, highlighter);
+				}
+
+				List<SearchResult> results = new ArrayList<>(top.scoreDocs.length);
+				for (ScoreDoc hit : top.scoreDocs) {
+					results.add(toResult(searcher.doc(hit.doc), hit.score, highlighters));
+				}
+
+				int totalHits = collector.getTotalHits();
+				int totalPages = totalPages(totalHits, size);
+				return new PagedResponse<>(results, page, size, totalHits, totalPages, page + 1L >= totalPages);
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public boolean isEmpty() {
+		return writer.getDocStats().numDocs == 0;
+	}
+
+	/**
+	 * Makes pending searches see every change written so far, instead of waiting for the next reopen.
+	 */
+	public void refresh() {
+		try {
+			searcherManager.maybeRefreshBlocking();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void commit() {
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reopenThread.close();
+		searcherManager.close();
+		writer.close();
+		directory.close();
+	}
+
+	private static int totalPages(int totalHits, int size) {
+		return size == 0 ? 0 : (int) (((long) totalHits + size - 1) / size);
+	}
+
+	private Query parse(String text) {
+		if (text == null || text.trim().isEmpty()) {
+			return new MatchAllDocsQuery();
+		}
+
+		// The simple syntax never throws on user input, unlike the classic query parser
+		SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+		parser.setDefaultOperator(BooleanClause.Occur.MUST);
+		return parser.parse(text);
+	}
+
+	private void deleteBetween(long afterId, long upToId) throws IOException {
+		if (afterId < upToId) {
+			writer.deleteDocuments(LongPoint.newRangeQuery(POST_ID, afterId + 1, upToId));
+		}
+	}
+
+	private List<Document> toDocuments(PostExport post) {
+		List<Document> documents = new ArrayList<>();
+
+		Document document = new Document();
+		document.add(new StringField(TYPE, SearchResult.Type.POST.name(), Field.Store.YES));
+		addText(document, TITLE, post.getTitle());
+		addText(document, BODY, post.getBody());
+		addPostFields(document, post);
+		addLong(document, USER_ID, post.getUserId());
+		addCreatedAt(document, post.getCreatedAt());
+		documents.add(document);
+
+		for (CommentExport comment : post.getComments()) {
+			document = new Document();
+			document.add(new StringField(TYPE, SearchResult.Type.COMMENT.name(), Field.Store.YES));
+			document.add(new StoredField(COMMENT_ID, comment.getId()));
+			if (post.getTitle() != null) {
+				document.add(new StoredField(POST_TITLE, post.getTitle()));
+			}
+			addText(document, BODY, comment.getBody());
+			addPostFields(document, post);
+			addLong(document, USER_ID, comment.getUserId());
+			addCreatedAt(document, comment.getCreatedAt());
+			documents.add(document);
+		}
+
+		return documents;
+	}
+
+	/*
+	 * Fields every document of a post carries, so filters and deletes work the same for its comments
+	 */
+	private static void addPostFields(Document document, PostExport post) {
+		document.add(new StringField(POST_KEY, String.valueOf(post.getId()), Field.Store.NO));
+		addLong(document, POST_ID, post.getId());
+		addLong(document, CATEGORY_ID, post.getCategoryId());
+		for (String tag : post.getTags()) {
+			document.add(new StringField(TAG, tag.toLowerCase(Locale.ROOT), Field.Store.NO));
+		}
+	}
+
+	private static void addText(Document document, String field, String value) {
+		if (value != null) {
+			document.add(new TextField(field, value, Field.Store.YES));
+		}
+	}
+
+	private static void addLong(Document document, String field, Long value) {
+		if (value != null) {
+			document.add(new LongPoint(field, value));
+			document.add(new StoredField(field, value));
+		}
+	}
+
+	private static void addCreatedAt(Document document, Instant createdAt) {
+		if (createdAt != null) {
+			document.add(new NumericDocValuesField(CREATED_AT, createdAt.toEpochMilli()));
+			document.add(new StoredField(CREATED_AT, createdAt.toEpochMilli()));
+		}
+	}
+
+	private SearchResult toResult(Document document, float score, Map<String, Highlighter> highlighters)
+			throws IOException {
+		SearchResult result = new SearchResult();
+		result.setType(SearchResult.Type.valueOf(document.get(TYPE)));
+		result.setPostId(storedLong(document, POST_ID));
+		result.setCommentId(storedLong(document, COMMENT_ID));
+		result.setTitle(result.getType() == SearchResult.Type.POST ? document.get(TITLE) : document.get(POST_TITLE));
+		result.setCategoryId(storedLong(document, CATEGORY_ID));
+		result.setUserId(storedLong(document, USER_ID));
+		Long createdAt = storedLong(document, CREATED_AT);
+		result.setCreatedAt(createdAt == null ? null : Instant.ofEpochMilli(createdAt));
+		result.setScore(score);
+
+		List<String> highlights = new ArrayList<>();
+		for (String field : Arrays.asList(TITLE, BODY)) {
+			String value = document.get(field);
+			if (value == null) {
+				continue;
+			}
+			try {
+				highlights.addAll(Arrays.asList(highlighters.get(field).getBestFragments(analyzer, field, value,
+						MAX_FRAGMENTS)));
+			} catch (InvalidTokenOffsetsException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		// Nothing matched textually (a filter-only search): show the start of the text instead
+		String body = document.get(BODY);
+		if (highlights.isEmpty() && body != null) {
+			highlights.add(new SimpleHTMLEncoder().encodeText(body.substring(0, Math.min(body.length(), FRAGMENT_SIZE))));
+		}
+		result.setHighlights(highlights);
+
+		return result;
+	}
+
+	private static Long storedLong(Document document, String field) {
+		IndexableField value = document.getField(field);
+		return value == null ? null : value.numericValue().longValue();
+	}
+
+	/**
+	 * Multiplies scores by {@code 1 + 0.5^(age / halfLife)}: up to twice the relevance for brand new
+	 * documents, fading towards plain relevance for old ones.
+	 */
+	private static final class RecencyBoost extends DoubleValuesSource {
+		private final long now;
+
+		private final double halfLifeInMs;
+
+		private RecencyBoost(long now, double halfLifeInMs) {
+			this.now = now;
+			this.halfLifeInMs = halfLifeInMs;
+		}
+
+		@Override
+		public DoubleValues getValues(LeafReaderContext context, DoubleValues scores) throws IOException {
+			NumericDocValues createdAt = DocValues.getNumeric(context.reader(), CREATED_AT);
+			return new DoubleValues() {
+				private double value;
+
+				@Override
+				public double doubleValue() {
+					return value;
+				}
+
+				@Override
+				public boolean advanceExact(int doc) throws IOException {
+					if (createdAt.advanceExact(doc)) {
+						double age = Math.max(now - createdAt.longValue(), 0);
+						value = 1 + Math.pow(0.5, age / halfLifeInMs);
+					} else {
+						value = 1;
+					}
+					return true;
+				}
+			};
+		}
+
+		@Override
+		public boolean needsScores() {
+			return false;
+		}
+
+		@Override
+		public DoubleValuesSource rewrite(IndexSearcher searcher) {
+			return this;
+		}
+
+		@Override
+		public boolean isCacheable(LeafReaderContext context) {
+			return DocValues.isCacheable(context, CREATED_AT);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (other == null || getClass() != other.getClass()) {
+				return false;
+			}
+			RecencyBoost that = (RecencyBoost) other;
+			return now == that.now && Double.compare(halfLifeInMs, that.halfLifeInMs) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(now, halfLifeInMs);
+		}
+
+		@Override
+		public String toString() {
+			return "recency(" + CREATED_AT + ", halfLife=" + halfLifeInMs + "ms)";
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.payload.SearchResult;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Restrictions applied on top of the text query; null fields do not filter. Category and tag filters
+ * match comments through the post they belong to.
+ */
+@Data
+@NoArgsConstructor
+public class SearchFilter {
+	private SearchResult.Type type;
+	private Long categoryId;
+	private String tag;
+	private Long userId;
+}
@@ -0,0 +1,132 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import com.sopromadze.blogapi.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds {@link PostSearchIndex} from committed {@link PostChangedEvent}s. Changed post ids are collected
+ * and reindexed from the database on a single background thread, so a burst of changes to one post (or
+ * a bulk import of many) costs one read per post or per run of consecutive ids, and requests never wait
+ * on the index. Full reindexes run on the same thread and therefore never race an incremental update.
+ */
+@Component
+public class SearchIndexer {
+	private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexer.class);
+
+	private static final int REINDEX_BATCH_SIZE = 1000;
+
+	private final PostSearchIndex index;
+
+	private final PostRepository postRepository;
+
+	private final Set<Long> pendingPostIds = ConcurrentHashMap.newKeySet();
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "search-indexer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public SearchIndexer(PostSearchIndex index, PostRepository postRepository) {
+		this.index = index;
+		this.postRepository = postRepository;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event) {
+		if (pendingPostIds.add(event.getPostId())) {
+			executor.execute(this::indexPending);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void indexIfEmpty() {
+		if (index.isEmpty()) {
+			reindex();
+		}
+	}
+
+	/**
+	 * Rebuilds the whole index in the background, a range of post ids at a time. Searches keep answering
+	 * from the existing documents while it runs.
+	 */
+	public void reindex() {
+		executor.execute(this::reindexAll);
+	}
+
+	@Scheduled(initialDelayString = "${app.searchCommitIntervalInMs:60000}",
+			fixedDelayString = "${app.searchCommitIntervalInMs:60000}")
+	public void commit() {
+		index.commit();
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(30, TimeUnit.SECONDS);
+		index.commit();
+	}
+
+	private void indexPending() {
+		List<Long> postIds = new ArrayList<>();
+		for (Iterator<Long> pending = pendingPostIds.iterator(); pending.hasNext();) {
+			postIds.add(pending.next());
+			pending.remove();
+		}
+		if (postIds.isEmpty()) {
+			return;
+		}
+
+		Collections.sort(postIds);
+		int runStart = 0;
+		for (int i = 1; i <= postIds.size(); i++) {
+			if (i == postIds.size() || postIds.get(i) != postIds.get(i - 1) + 1) {
+				long afterId = postIds.get(runStart) - 1;
+				long upToId = postIds.get(i - 1);
+				try {
+					index.replaceRange(afterId, upToId, postRepository::streamExport);
+				} catch (RuntimeException e) {
+					LOGGER.error("Could not index posts {} to {}; they stay stale until the next change or reindex",
+							afterId + 1, upToId, e);
+				}
+				runStart = i;
+			}
+		}
+	}
+
+	private void reindexAll() {
+		long startedAt = System.currentTimeMillis();
+		try {
+			long maxId = postRepository.findMaxId();
+			long indexed = 0;
+			for (long afterId = 0; afterId < maxId; afterId += REINDEX_BATCH_SIZE) {
+				indexed += index.replaceRange(afterId, Math.min(afterId + REINDEX_BATCH_SIZE, maxId),
+						postRepository::streamExport);
+			}
+			indexed += index.replaceRange(maxId, Long.MAX_VALUE, postRepository::streamExport);
+			index.commit();
+
+			LOGGER.info("Reindexed {} posts in {} ms", indexed, System.currentTimeMillis() - startedAt);
+		} catch (RuntimeException e) {
+			LOGGER.error("Search reindex failed", e);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.TooManyRequestsException;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small, fixed pool with a bounded queue so that a burst of
+ * sign-ins or sign-ups cannot tie up every servlet thread on bcrypt. When the queue is
+ * full callers get a {@link TooManyRequestsException} (429 with Retry-After) instead of
+ * waiting. Work that is already running on the pool hashes inline, so
+ * {@link #supplyAsync(Supplier)} can wrap a whole authentication without deadlocking.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+	private static final String BUSY = "Too many authentication requests, please retry shortly";
+
+	private static final ThreadLocal<Boolean> HASHING_THREAD = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final long retryAfterInSeconds;
+
+	private final LongAdder rejected = new LongAdder();
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterInSeconds) {
+		this.delegate = delegate;
+		this.retryAfterInSeconds = retryAfterInSeconds;
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(() -> {
+						HASHING_THREAD.set(Boolean.TRUE);
+						runnable.run();
+					}, "password-hash-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return call(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return call(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Runs the given work on the hashing pool, releasing the calling thread. Any hashing the
+	 * work does happens inline on the pool thread.
+	 */
+	public <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+		try {
+			return CompletableFuture.supplyAsync(work, executor);
+		} catch (RejectedExecutionException e) {
+			throw busy();
+		}
+	}
+
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	public int getQueueSize() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private <T> T call(Supplier<T> work) {
+		if (Boolean.TRUE.equals(HASHING_THREAD.get())) {
+			return work.get();
+		}
+
+		Future<T> future;
+		try {
+			future = executor.submit(work::get);
+		} catch (RejectedExecutionException e) {
+			throw busy();
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new CompletionException(cause);
+		}
+	}
+
+	private TooManyRequestsException busy() {
+		rejected.increment();
+		return new TooManyRequestsException(new ApiResponse(Boolean.FALSE, BUSY, HttpStatus.TOO_MANY_REQUESTS),
+				retryAfterInSeconds);
+	}
+}
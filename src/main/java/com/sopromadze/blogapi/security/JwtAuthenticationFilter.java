@@ -2,6 +2,7 @@ package com.sopromadze.blogapi.security;
 
 import com.sopromadze.blogapi.service.CustomUserDetailsService;
 import com.sopromadze.blogapi.service.impl.CustomUserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,16 +36,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private CustomUserDetailsServiceImpl customUserDetailsService;*/
 	private final CustomUserDetailsService customUserDetailsService;
 
+	private final UserPrincipalCache userPrincipalCache;
+
+	private final TokenRevocationRegistry tokenRevocationRegistry;
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		try {
 			String jwt = getJwtFromRequest(request);
 
-			if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-				Long userId = tokenProvider.getUserIdFromJWT(jwt);
+			JwtParseResult parsed = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
+
+			if (parsed != null && parsed.isValid()) {
+				Claims claims = parsed.getClaims();
+				Long userId = Long.valueOf(claims.getSubject());
 
-				UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+				UserDetails userDetails = tokenProvider.getUserPrincipalFromClaims(claims);
+				if (userDetails == null
+						|| tokenRevocationRegistry.isRevoked(userId, tokenProvider.getTokenVersionFromClaims(claims))) {
+					userDetails = loadPrincipal(userId);
+				}
 				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null,
 						userDetails.getAuthorities());
 				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -58,7 +70,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
-	private String getJwtFromRequest(HttpServletRequest request) {
+	private UserPrincipal loadPrincipal(Long userId) {
+		UserPrincipal principal = userPrincipalCache.get(userId,
+				id -> (UserPrincipal) customUserDetailsService.loadUserById(id));
+		// The user may have changed on another node since this one cached it
+		if (tokenRevocationRegistry.isRevoked(userId, principal.getTokenVersion())) {
+			userPrincipalCache.evict(userId);
+			principal = userPrincipalCache.get(userId, id -> (UserPrincipal) customUserDetailsService.loadUserById(id));
+		}
+		return principal;
+	}
+
+	String getJwtFromRequest(HttpServletRequest request) {
 		String bearerToken = request.getHeader("Authorization");
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
 			return bearerToken.substring(7, bearerToken.length());
@@ -0,0 +1,43 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of {@link JwtTokenProvider#parseToken(String)}: either the verified claims or the reason the token was
+ * rejected. Claims may be shared between requests through the verified-token cache and must not be modified.
+ */
+public final class JwtParseResult {
+
+	public enum Failure {
+		INVALID_SIGNATURE, MALFORMED, EXPIRED, UNSUPPORTED, EMPTY
+	}
+
+	private final Claims claims;
+
+	private final Failure failure;
+
+	private JwtParseResult(Claims claims, Failure failure) {
+		this.claims = claims;
+		this.failure = failure;
+	}
+
+	public static JwtParseResult valid(Claims claims) {
+		return new JwtParseResult(claims, null);
+	}
+
+	public static JwtParseResult invalid(Failure failure) {
+		return new JwtParseResult(null, failure);
+	}
+
+	public boolean isValid() {
+		return claims != null;
+	}
+
+	public Claims getClaims() {
+		return claims;
+	}
+
+	public Failure getFailure() {
+		return failure;
+	}
+}
@@ -1,68 +1,216 @@
 package com.sopromadze.blogapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.TextCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+	private static final SignatureAlgorithm SIGNATURE_ALGORITHM = SignatureAlgorithm.HS512;
+
+	private static final String USERNAME = "username";
+	private static final String EMAIL = "email";
+	private static final String FIRST_NAME = "firstName";
+	private static final String LAST_NAME = "lastName";
+	private static final String ROLES = "roles";
+	private static final String EPOCH = "epoch";
+	private static final String TOKEN_VERSION = "ver";
+
 	@Value(value = "${app.jwtSecret}")
 	private String jwtSecret;
 
 	@Value(value = "${app.jwtExpirationInMs}")
 	private int jwtExpirationInMs;
 
+	@Value(value = "${app.jwtEmbedClaims:false}")
+	private boolean jwtEmbedClaims;
+
+	@Value(value = "${app.jwtClaimsEpoch:0}")
+	private long jwtClaimsEpoch;
+
+	@Value(value = "${app.jwtCacheMaxSize:10000}")
+	private long jwtCacheMaxSize;
+
+	private Key signingKey;
+
+	private JwtParser parser;
+
+	private Cache<String, Claims> verifiedTokens;
+
+	@PostConstruct
+	public void init() {
+		// Same key derivation as signWith/setSigningKey(String), done once instead of on every call
+		signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), SIGNATURE_ALGORITHM.getJcaName());
+		parser = Jwts.parser().setSigningKey(signingKey);
+		verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(jwtCacheMaxSize)
+				.expireAfter(new UntilTokenExpires())
+				.build();
+	}
+
 	public String generateToken(Authentication authentication) {
 		UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
 		Date now = new Date();
 		Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-		return Jwts.builder()
+		JwtBuilder builder = Jwts.builder()
 				.setSubject(Long.toString(userPrincipal.getId()))
-				.setIssuedAt(new Date())
-				.setExpiration(expiryDate)
-				.signWith(SignatureAlgorithm.HS512, jwtSecret)
-				.compact();
-	}
+				.setIssuedAt(now)
+				.setExpiration(expiryDate);
 
-	public Long getUserIdFromJWT(String token) {
-		Claims claims = Jwts.parser()
-				.setSigningKey(jwtSecret)
-				.parseClaimsJws(token)
-				.getBody();
+		if (jwtEmbedClaims) {
+			List<String> roles = userPrincipal.getAuthorities().stream()
+					.map(GrantedAuthority::getAuthority).collect(Collectors.toList());
 
-		return Long.valueOf(claims.getSubject());
+			builder.claim(USERNAME, userPrincipal.getUsername())
+					.claim(EMAIL, userPrincipal.getEmail())
+					.claim(FIRST_NAME, userPrincipal.getFirstName())
+					.claim(LAST_NAME, userPrincipal.getLastName())
+					.claim(ROLES, roles)
+					.claim(EPOCH, jwtClaimsEpoch)
+					.claim(TOKEN_VERSION, userPrincipal.getTokenVersion());
+		}
+
+		return builder.signWith(SIGNATURE_ALGORITHM, signingKey).compact();
 	}
 
-	public boolean validateToken(String authToken) {
+	/**
+	 * Verifies the token and returns its claims, or the reason it was rejected. Tokens that verified
+	 * successfully are remembered by hash until they expire, so repeated requests skip signature checks.
+	 */
+	public JwtParseResult parseToken(String token) {
+		if (token == null || token.isEmpty()) {
+			LOGGER.error("JWT claims string is empty");
+			return JwtParseResult.invalid(JwtParseResult.Failure.EMPTY);
+		}
+
+		String tokenHash = hash(token);
+		Claims cached = verifiedTokens.getIfPresent(tokenHash);
+		if (cached != null) {
+			return JwtParseResult.valid(cached);
+		}
+
 		try {
-			Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-			return true;
+			Claims claims = parser.parseClaimsJws(token).getBody();
+			verifiedTokens.put(tokenHash, claims);
+			return JwtParseResult.valid(claims);
 		} catch (SignatureException ex) {
 			LOGGER.error("Invalid JWT signature");
+			return JwtParseResult.invalid(JwtParseResult.Failure.INVALID_SIGNATURE);
 		} catch (MalformedJwtException ex) {
 			LOGGER.error("Invalid JWT token");
+			return JwtParseResult.invalid(JwtParseResult.Failure.MALFORMED);
 		} catch (ExpiredJwtException ex) {
 			LOGGER.error("Expired JWT token");
+			return JwtParseResult.invalid(JwtParseResult.Failure.EXPIRED);
 		} catch (UnsupportedJwtException ex) {
 			LOGGER.error("Unsupported JWT token");
+			return JwtParseResult.invalid(JwtParseResult.Failure.UNSUPPORTED);
 		} catch (IllegalArgumentException ex) {
 			LOGGER.error("JWT claims string is empty");
+			return JwtParseResult.invalid(JwtParseResult.Failure.EMPTY);
+		}
+	}
+
+	public Claims getClaimsFromJWT(String token) {
+		return parser.parseClaimsJws(token).getBody();
+	}
+
+	public Long getUserIdFromJWT(String token) {
+		return Long.valueOf(getClaimsFromJWT(token).getSubject());
+	}
+
+	/**
+	 * Builds the principal straight from verified claims, without touching the database.
+	 * Returns {@code null} when the token carries no embedded claims or was issued before
+	 * the current {@code app.jwtClaimsEpoch}, in which case the caller must load the user.
+	 */
+	public UserPrincipal getUserPrincipalFromClaims(Claims claims) {
+		List<?> roles = claims.get(ROLES, List.class);
+		Number epoch = claims.get(EPOCH, Number.class);
+		if (roles == null || epoch == null || epoch.longValue() < jwtClaimsEpoch) {
+			return null;
+		}
+
+		List<GrantedAuthority> authorities = roles.stream()
+				.map(role -> new SimpleGrantedAuthority(role.toString())).collect(Collectors.toList());
+
+		return new UserPrincipal(Long.valueOf(claims.getSubject()), claims.get(FIRST_NAME, String.class),
+				claims.get(LAST_NAME, String.class), claims.get(USERNAME, String.class),
+				claims.get(EMAIL, String.class), null, authorities);
+	}
+
+	/**
+	 * The user's token version the claims were issued with, or {@code null} for tokens that carry none.
+	 */
+	public Long getTokenVersionFromClaims(Claims claims) {
+		Number version = claims.get(TOKEN_VERSION, Number.class);
+		return version == null ? null : version.longValue();
+	}
+
+	public boolean validateToken(String authToken) {
+		return parseToken(authToken).isValid();
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static final class UntilTokenExpires implements Expiry<String, Claims> {
+		@Override
+		public long expireAfterCreate(String key, Claims claims, long currentTime) {
+			Date expiration = claims.getExpiration();
+			if (expiration == null) {
+				return 0;
+			}
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
 		}
-		return false;
 	}
 }
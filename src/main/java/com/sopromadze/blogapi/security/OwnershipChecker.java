@@ -0,0 +1,28 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.ResourceNotFoundException;
+import com.sopromadze.blogapi.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import static com.sopromadze.blogapi.utils.AppConstants.ID;
+import static com.sopromadze.blogapi.utils.AppConstants.PHOTO;
+
+/**
+ * Ownership checks that need a query. Most resources carry their owner's id as a foreign key, which the
+ * services read from the entity they load anyway and pass to {@link UserPrincipal#canModify(Long)}
+ * without initialising the owner. A photo's owner is its album's user, so it is resolved here with one
+ * id-only query instead of loading the photo and then its album.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnershipChecker {
+
+	private final PhotoRepository photoRepository;
+
+	public boolean canModifyPhoto(Long photoId, UserPrincipal currentUser) {
+		Long ownerId = photoRepository.findOwnerIdById(photoId)
+				.orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, photoId));
+		return currentUser.canModify(ownerId);
+	}
+}
@@ -0,0 +1,73 @@
+package com.sopromadze.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.sopromadze.blogapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks, per user, the token version stored in {@code users.token_version}. Tokens with embedded claims
+ * carry the version they were issued with and are no longer trusted on their own once it is raised. The
+ * version lives in the database, so a revocation on one node reaches every node, and survives restarts.
+ * Each node caches versions for {@code app.tokenVersionCacheTtlInMs}, which bounds how long another node
+ * keeps trusting a revoked token.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+	// A deleted user has no version left, so none of their tokens is trusted on its own
+	private static final long UNKNOWN_USER = Long.MAX_VALUE;
+
+	private final UserRepository userRepository;
+
+	private final LoadingCache<Long, Long> versions;
+
+	public TokenRevocationRegistry(UserRepository userRepository,
+			@Value(value = "${app.tokenVersionCacheTtlInMs:5000}") long ttlInMs,
+			@Value(value = "${app.tokenVersionCacheMaxSize:100000}") long maxSize) {
+		this.userRepository = userRepository;
+		this.versions = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.build(userId -> userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER));
+	}
+
+	/**
+	 * Raises the user's token version. Inside a transaction the local entry is only dropped after commit,
+	 * so a concurrent request cannot cache the old version again in between.
+	 */
+	public void revoke(Long userId) {
+		if (userId == null) {
+			return;
+		}
+
+		userRepository.incrementTokenVersion(userId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					versions.invalidate(userId);
+				}
+			});
+		} else {
+			versions.invalidate(userId);
+		}
+	}
+
+	public long currentVersion(Long userId) {
+		return versions.get(userId);
+	}
+
+	/**
+	 * Whether something issued with {@code tokenVersion} is out of date; {@code null} means it carries no
+	 * version at all.
+	 */
+	public boolean isRevoked(Long userId, Long tokenVersion) {
+		return tokenVersion == null || tokenVersion < currentVersion(userId);
+	}
+}
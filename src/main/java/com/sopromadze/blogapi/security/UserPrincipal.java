@@ -1,6 +1,7 @@
 package com.sopromadze.blogapi.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -8,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -31,6 +34,10 @@ public class UserPrincipal implements UserDetails {
 
 	private Collection<? extends GrantedAuthority> authorities;
 
+	private final EnumSet<RoleName> roles = EnumSet.noneOf(RoleName.class);
+
+	private long tokenVersion;
+
 	public UserPrincipal(Long id, String firstName, String lastName, String username, String email, String password,
 			Collection<? extends GrantedAuthority> authorities) {
 		this.id = id;
@@ -43,7 +50,15 @@ public class UserPrincipal implements UserDetails {
 		if (authorities == null) {
 			this.authorities = null;
 		} else {
-			this.authorities = new ArrayList<>(authorities);
+			// Copied once here so getAuthorities() can hand out the same read-only list on every call
+			this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+			for (GrantedAuthority authority : authorities) {
+				for (RoleName role : RoleName.values()) {
+					if (role.name().equals(authority.getAuthority())) {
+						roles.add(role);
+					}
+				}
+			}
 		}
 	}
 
@@ -51,8 +66,10 @@ public class UserPrincipal implements UserDetails {
 		List<GrantedAuthority> authorities = user.getRoles().stream()
 				.map(role -> new SimpleGrantedAuthority(role.getName().name())).collect(Collectors.toList());
 
-		return new UserPrincipal(user.getId(), user.getFirstName(), user.getLastName(), user.getUsername(),
-				user.getEmail(), user.getPassword(), authorities);
+		UserPrincipal principal = new UserPrincipal(user.getId(), user.getFirstName(), user.getLastName(),
+				user.getUsername(), user.getEmail(), user.getPassword(), authorities);
+		principal.tokenVersion = user.getTokenVersion();
+		return principal;
 	}
 
 	public Long getId() {
@@ -63,9 +80,33 @@ public class UserPrincipal implements UserDetails {
 		return email;
 	}
 
+	/**
+	 * The user's token version when this principal was loaded; tokens issued for it carry the same version.
+	 */
+	@JsonIgnore
+	public long getTokenVersion() {
+		return tokenVersion;
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return authorities == null ? null : new ArrayList<>(authorities);
+		return authorities;
+	}
+
+	public boolean hasRole(RoleName role) {
+		return roles.contains(role);
+	}
+
+	@JsonIgnore
+	public boolean isAdmin() {
+		return roles.contains(RoleName.ROLE_ADMIN);
+	}
+
+	/**
+	 * Whether this user may change or delete something owned by the given user id: its owner or an admin.
+	 */
+	public boolean canModify(Long ownerId) {
+		return (ownerId != null && ownerId.equals(id)) || isAdmin();
 	}
 
 	@Override
@@ -0,0 +1,52 @@
+package com.sopromadze.blogapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded, time limited cache of authenticated principals keyed by user id, so that
+ * {@link JwtAuthenticationFilter} does not reload the user and its roles on every request.
+ * Services that change a user's profile or roles must call {@link #evict(Long)}.
+ */
+@Component
+public class UserPrincipalCache {
+
+	private final Cache<Long, UserPrincipal> principals;
+
+	public UserPrincipalCache(@Value(value = "${app.principalCacheMaxSize:10000}") long maxSize,
+			@Value(value = "${app.principalCacheTtlInMs:60000}") long ttlInMs) {
+		this.principals = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttlInMs, TimeUnit.MILLISECONDS)
+				.recordStats()
+				.build();
+	}
+
+	public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+		return principals.get(userId, loader);
+	}
+
+	public void evict(Long userId) {
+		if (userId != null) {
+			principals.invalidate(userId);
+		}
+	}
+
+	public void evictAll() {
+		principals.invalidateAll();
+	}
+
+	public CacheStats getStats() {
+		return principals.stats();
+	}
+
+	public long getSize() {
+		return principals.estimatedSize();
+	}
+}
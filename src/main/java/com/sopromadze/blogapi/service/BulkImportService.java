@@ -0,0 +1,23 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.payload.BulkImportSummary;
+import com.sopromadze.blogapi.payload.BulkItemResult;
+import com.sopromadze.blogapi.security.UserPrincipal;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface BulkImportService {
+
+	/**
+	 * Reads one {@link com.sopromadze.blogapi.payload.PostRequest} per line and stores the valid ones, one
+	 * transaction per chunk. Every line produces exactly one result, handed to {@code results} once its
+	 * chunk has committed.
+	 */
+	BulkImportSummary importPosts(InputStream ndjson, UserPrincipal currentUser, Consumer<BulkItemResult> results);
+
+	/**
+	 * Same as {@link #importPosts} for {@link com.sopromadze.blogapi.payload.BulkCommentRequest} lines.
+	 */
+	BulkImportSummary importComments(InputStream ndjson, UserPrincipal currentUser, Consumer<BulkItemResult> results);
+}
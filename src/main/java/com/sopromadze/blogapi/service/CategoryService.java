@@ -3,7 +3,9 @@ package com.sopromadze.blogapi.service;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.http.ResponseEntity;
 
@@ -11,6 +13,8 @@ public interface CategoryService {
 
 	PagedResponse<Category> getAllCategories(int page, int size);
 
+	SliceResponse<Category> getAllCategories(int page, int size, CountMode countMode);
+
 	Category getCategory(Long id);
 
 	Category addCategory(Category category, UserPrincipal currentUser);
@@ -3,7 +3,9 @@ package com.sopromadze.blogapi.service;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.http.ResponseEntity;
 
@@ -11,6 +13,8 @@ public interface CommentService {
 
 	PagedResponse<Comment> getAllComments(Long postId, int page, int size);
 
+	SliceResponse<Comment> getAllComments(Long postId, int page, int size, CountMode countMode);
+
 	Comment addComment(CommentRequest commentRequest, Long postId, UserPrincipal currentUser);
 
 	Comment getComment(Long postId, Long id);
@@ -0,0 +1,16 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.payload.ExportSummary;
+import com.sopromadze.blogapi.payload.PostExport;
+
+import java.util.function.Consumer;
+
+public interface ExportService {
+
+	/**
+	 * Hands every post with an id above {@code afterId} to {@code posts}, in id order, until all posts that
+	 * existed when the export started are written or {@code app.exportMaxDurationInMs} is spent. In the
+	 * latter case the summary is not complete and its last id is where the next call should resume.
+	 */
+	ExportSummary exportPosts(long afterId, Consumer<PostExport> posts);
+}
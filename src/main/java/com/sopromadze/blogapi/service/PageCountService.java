@@ -0,0 +1,15 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.SliceResponse;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.LongSupplier;
+
+public interface PageCountService {
+
+	long getEstimatedCount(String countKey, LongSupplier counter);
+
+	<T> SliceResponse<T> toResponse(Slice<T> slice, CountMode countMode, String countKey, LongSupplier counter);
+
+}
@@ -2,9 +2,11 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Photo;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.springframework.http.ResponseEntity;
 
@@ -14,6 +16,8 @@ public interface PhotoService {
 
 	PagedResponse<PhotoResponse> getAllPhotos(int page, int size);
 
+	SliceResponse<PhotoResponse> getAllPhotos(int page, int size, CountMode countMode);
+
 	Photo getPhoto(Long id);
 
 	Photo updatePhoto(Long id, PhotoRequest photoRequest, UserPrincipal currentUser);
@@ -2,11 +2,17 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.time.Instant;
+
 public interface PostService {
 
 	PagedResponse<Post> getAllPosts(int page, int size);
@@ -17,6 +23,24 @@ public interface PostService {
 
 	PagedResponse<Post> getPostsByTag(Long id, int page, int size);
 
+	SliceResponse<Post> getAllPosts(int page, int size, CountMode countMode);
+
+	SliceResponse<Post> getPostsByCreatedBy(String username, int page, int size, CountMode countMode);
+
+	SliceResponse<Post> getPostsByCategory(Long id, int page, int size, CountMode countMode);
+
+	SliceResponse<Post> getPostsByTag(Long id, int page, int size, CountMode countMode);
+
+	CursorPagedResponse<Post> getPostFeed(String cursor, int size);
+
+	CursorPagedResponse<Post> getPostFeedByCreatedBy(String username, String cursor, int size);
+
+	CursorPagedResponse<Post> getPostFeedByCategory(Long id, String cursor, int size);
+
+	CursorPagedResponse<Post> getPostFeedByTag(Long id, String cursor, int size);
+
+	CursorPagedResponse<PostSummary> getPostSummaryFeed(String cursor, int size);
+
 	Post updatePost(Long id, PostRequest newPostRequest, UserPrincipal currentUser);
 
 	ApiResponse deletePost(Long id, UserPrincipal currentUser);
@@ -25,4 +49,6 @@ public interface PostService {
 
 	Post getPost(Long id);
 
+	Instant getPostUpdatedAt(Long id);
+
 }
@@ -0,0 +1,18 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SearchResult;
+
+public interface SearchService {
+
+	/**
+	 * Searches post titles and bodies and comment bodies. {@code query} uses the simple Lucene syntax
+	 * ({@code +}, {@code |}, {@code -}, quotes, {@code *} and {@code ~}); an empty query lists the filtered
+	 * documents newest first. {@code author} is a username.
+	 */
+	PagedResponse<SearchResult> search(String query, SearchResult.Type type, Long categoryId, String tag,
+			String author, int page, int size);
+
+	ApiResponse reindex();
+}
@@ -0,0 +1,52 @@
+package com.sopromadze.blogapi.service;
+
+import com.sopromadze.blogapi.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically recounts tags.post_count from post_tag. Posts adjust the counts as they are created,
+ * retagged and deleted, clamped at zero, so manual data fixes or a lost update can leave them off.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tagPostCountReconcileEnabled", havingValue = "true", matchIfMissing = true)
+public class TagPostCountReconciler {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TagPostCountReconciler.class);
+
+	private final TagRepository tagRepository;
+
+	private final int batchSize;
+
+	private final AtomicLong repairedCount = new AtomicLong();
+
+	public TagPostCountReconciler(TagRepository tagRepository,
+			@Value(value = "${app.tagPostCountReconcileBatchSize:500}") int batchSize) {
+		this.tagRepository = tagRepository;
+		this.batchSize = batchSize;
+	}
+
+	@Scheduled(initialDelayString = "${app.tagPostCountReconcileIntervalInMs:3600000}",
+			fixedDelayString = "${app.tagPostCountReconcileIntervalInMs:3600000}")
+	public void reconcileAll() {
+		long maxId = tagRepository.findMaxTagId();
+		int repaired = 0;
+		for (long afterId = 0; afterId < maxId; afterId += batchSize) {
+			repaired += tagRepository.reconcilePostCounts(afterId, Math.min(afterId + batchSize, maxId));
+		}
+
+		repairedCount.addAndGet(repaired);
+		if (repaired > 0) {
+			LOGGER.warn("Repaired {} drifted tag post counts", repaired);
+		}
+	}
+
+	public long getRepairedCount() {
+		return repairedCount.get();
+	}
+}
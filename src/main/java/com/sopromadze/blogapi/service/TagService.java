@@ -2,14 +2,21 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
+import java.util.Collection;
+import java.util.List;
+
 
 public interface TagService {
 
 	PagedResponse<Tag> getAllTags(int page, int size);
 
+	SliceResponse<Tag> getAllTags(int page, int size, CountMode countMode);
+
 	Tag getTag(Long id);
 
 	Tag addTag(Tag tag, UserPrincipal currentUser);
@@ -18,4 +25,6 @@ public interface TagService {
 
 	ApiResponse deleteTag(Long id, UserPrincipal currentUser);
 
+	List<Tag> findOrCreateTags(Collection<String> names, UserPrincipal currentUser);
+
 }
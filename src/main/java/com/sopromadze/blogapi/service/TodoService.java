@@ -2,7 +2,9 @@ package com.sopromadze.blogapi.service;
 
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 
 public interface TodoService {
@@ -13,6 +15,8 @@ public interface TodoService {
 
 	PagedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size);
 
+	SliceResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size, CountMode countMode);
+
 	Todo addTodo(Todo todo, UserPrincipal currentUser);
 
 	Todo getTodo(Long id, UserPrincipal currentUser);
@@ -4,6 +4,7 @@ import com.sopromadze.blogapi.model.user.User;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
+import com.sopromadze.blogapi.payload.UserPatchRequest;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
 import com.sopromadze.blogapi.security.UserPrincipal;
@@ -22,6 +23,8 @@ public interface UserService {
 
 	User updateUser(User newUser, String username, UserPrincipal currentUser);
 
+	User patchUser(UserPatchRequest patchRequest, String username, UserPrincipal currentUser);
+
 	ApiResponse deleteUser(String username, UserPrincipal currentUser);
 
 	ApiResponse giveAdmin(String username);
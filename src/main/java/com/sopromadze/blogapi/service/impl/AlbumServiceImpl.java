@@ -2,20 +2,21 @@ package com.sopromadze.blogapi.service.impl;
 
 import com.sopromadze.blogapi.exception.BlogapiException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
+import com.sopromadze.blogapi.mapper.PayloadMapper;
 import com.sopromadze.blogapi.model.Album;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.AlbumResponse;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.AlbumService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,10 +24,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -45,9 +45,10 @@ public class AlbumServiceImpl implements AlbumService {
 
 	private final UserRepository userRepository;
 
-	private final ModelMapper modelMapper;
+	private final UserStatsRepository userStatsRepository;
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<AlbumResponse> getAllAlbums(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
@@ -60,27 +61,30 @@ public class AlbumServiceImpl implements AlbumService {
 					albums.getTotalPages(), albums.isLast());
 		}
 
-		List<AlbumResponse> albumResponses = Arrays.asList(modelMapper.map(albums.getContent(), AlbumResponse[].class));
+		List<AlbumResponse> albumResponses = PayloadMapper.toAlbumResponses(albums.getContent());
 
 		return new PagedResponse<>(albumResponses, albums.getNumber(), albums.getSize(), albums.getTotalElements(), albums.getTotalPages(),
 				albums.isLast());
 	}
 
 	@Override
+	@Transactional
 	public Album addAlbum(AlbumRequest albumRequest, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 
 		Album album = new Album();
 
-		modelMapper.map(albumRequest, album);
+		PayloadMapper.copyAlbumRequest(albumRequest, album);
 
 		album.setUser(user);
 		Album newAlbum = albumRepository.save(album);
+		userStatsRepository.adjust(user.getId(), UserStats.Counter.ALBUMS, 1);
 
 		return album;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Album getAlbum(Long id) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
 
@@ -88,31 +92,26 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
+	@Transactional
 	public AlbumResponse updateAlbum(Long id, AlbumRequest newAlbum, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
-		User user = userRepository.getUser(currentUser);
-		if (album.getUser().getId().equals(user.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(album.getUser().getId())) {
 			album.setTitle(newAlbum.getTitle());
 			Album updatedAlbum = albumRepository.save(album);
 
-			AlbumResponse albumResponse = new AlbumResponse();
-
-			modelMapper.map(updatedAlbum, albumResponse);
-
-			return albumResponse;
+			return PayloadMapper.toAlbumResponse(updatedAlbum);
 		}
 
 		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO_MAKE_THIS_OPERATION);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteAlbum(Long id, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ALBUM_STR, ID, id));
-		User user = userRepository.getUser(currentUser);
-		if (album.getUser().getId().equals(user.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(album.getUser().getId())) {
 			albumRepository.deleteById(id);
+			userStatsRepository.adjust(album.getUser().getId(), UserStats.Counter.ALBUMS, -1);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted album");
 		}
 
@@ -120,6 +119,7 @@ public class AlbumServiceImpl implements AlbumService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Album> getUserAlbums(String username, int page, int size) {
 		User user = userRepository.getUserByName(username);
 
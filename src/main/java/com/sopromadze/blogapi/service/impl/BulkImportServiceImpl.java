@@ -0,0 +1,351 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import com.sopromadze.blogapi.exception.AppException;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.BulkCommentRequest;
+import com.sopromadze.blogapi.payload.BulkImportSummary;
+import com.sopromadze.blogapi.payload.BulkItemResult;
+import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.CommentRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.BulkImportService;
+import com.sopromadze.blogapi.service.TagService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.sopromadze.blogapi.utils.AppConstants.CATEGORY;
+import static com.sopromadze.blogapi.utils.AppConstants.ID;
+import static com.sopromadze.blogapi.utils.AppConstants.POST;
+
+/**
+ * Streams NDJSON imports through Hibernate in chunks: each chunk is validated, persisted and flushed in
+ * one transaction (so inserts go out as JDBC batches of hibernate.jdbc.batch_size, which needs the
+ * pooled id generators of Post and Comment), then the persistence context is cleared so memory stays flat
+ * however long the input is.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+	private final ObjectMapper objectMapper;
+
+	private final Validator validator;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final EntityManager entityManager;
+
+	private final PostRepository postRepository;
+
+	private final CommentRepository commentRepository;
+
+	private final CategoryRepository categoryRepository;
+
+	private final TagRepository tagRepository;
+
+	private final TagService tagService;
+
+	private final UserRepository userRepository;
+
+	private final UserStatsRepository userStatsRepository;
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final int chunkSize;
+
+	public BulkImportServiceImpl(ObjectMapper objectMapper, Validator validator,
+			PlatformTransactionManager transactionManager, EntityManager entityManager, PostRepository postRepository,
+			CommentRepository commentRepository, CategoryRepository categoryRepository, TagRepository tagRepository,
+			TagService tagService, UserRepository userRepository, UserStatsRepository userStatsRepository,
+			ApplicationEventPublisher eventPublisher, @Value(value = "${app.bulkImportChunkSize:500}") int chunkSize) {
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.entityManager = entityManager;
+		this.postRepository = postRepository;
+		this.commentRepository = commentRepository;
+		this.categoryRepository = categoryRepository;
+		this.tagRepository = tagRepository;
+		this.tagService = tagService;
+		this.userRepository = userRepository;
+		this.userStatsRepository = userStatsRepository;
+		this.eventPublisher = eventPublisher;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public BulkImportSummary importPosts(InputStream ndjson, UserPrincipal currentUser, Consumer<BulkItemResult> results) {
+		return importLines(ndjson, PostRequest.class, results, chunk -> writePosts(chunk, currentUser));
+	}
+
+	@Override
+	public BulkImportSummary importComments(InputStream ndjson, UserPrincipal currentUser,
+			Consumer<BulkItemResult> results) {
+		return importLines(ndjson, BulkCommentRequest.class, results, chunk -> writeComments(chunk, currentUser));
+	}
+
+	private <T> BulkImportSummary importLines(InputStream ndjson, Class<T> type, Consumer<BulkItemResult> results,
+			Function<List<Line<T>>, List<BulkItemResult>> writer) {
+		ObjectReader reader = objectMapper.readerFor(type);
+		BulkImportSummary summary = new BulkImportSummary();
+		Consumer<BulkItemResult> counting = result -> {
+			if (result.isSuccess()) {
+				summary.setCreated(summary.getCreated() + 1);
+			} else {
+				summary.setFailed(summary.getFailed() + 1);
+			}
+			results.accept(result);
+		};
+
+		List<Line<T>> chunk = new ArrayList<>(chunkSize);
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+			long number = 0;
+			String text;
+			while ((text = lines.readLine()) != null) {
+				number++;
+				if (text.trim().isEmpty()) {
+					continue;
+				}
+
+				Line<T> line = parse(reader, number, text, counting);
+				if (line == null) {
+					continue;
+				}
+
+				chunk.add(line);
+				if (chunk.size() == chunkSize) {
+					writeChunk(chunk, writer, counting);
+					chunk.clear();
+				}
+			}
+		} catch (IOException e) {
+			throw new AppException("Could not read bulk import body", e);
+		}
+
+		if (!chunk.isEmpty()) {
+			writeChunk(chunk, writer, counting);
+		}
+
+		return summary;
+	}
+
+	private <T> Line<T> parse(ObjectReader reader, long number, String text, Consumer<BulkItemResult> results) {
+		T item;
+		try {
+			item = reader.readValue(text);
+		} catch (JsonProcessingException e) {
+			results.accept(BulkItemResult.failed(number, "Invalid JSON: " + e.getOriginalMessage()));
+			return null;
+		}
+
+		if (item == null) {
+			results.accept(BulkItemResult.failed(number, "Invalid JSON: expected an object"));
+			return null;
+		}
+
+		Set<ConstraintViolation<T>> violations = validator.validate(item);
+		if (!violations.isEmpty()) {
+			List<String> errors = violations.stream()
+					.map(violation -> violation.getPropertyPath() + " - " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.toList());
+			results.accept(BulkItemResult.failed(number, errors));
+			return null;
+		}
+
+		return new Line<>(number, item);
+	}
+
+	private <T> void writeChunk(List<Line<T>> chunk, Function<List<Line<T>>, List<BulkItemResult>> writer,
+			Consumer<BulkItemResult> results) {
+		List<BulkItemResult> written;
+		try {
+			written = transactionTemplate.execute(status -> writer.apply(chunk));
+		} catch (RuntimeException e) {
+			// The chunk was rolled back as a whole; report it against every line it held
+			String error = "Not saved, chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+			written = chunk.stream().map(line -> BulkItemResult.failed(line.number, error)).collect(Collectors.toList());
+		}
+
+		if (written != null) {
+			written.forEach(results);
+		}
+	}
+
+	private List<BulkItemResult> writePosts(List<Line<PostRequest>> chunk, UserPrincipal currentUser) {
+		Set<Long> categoryIds = new HashSet<>();
+		Set<String> titles = new HashSet<>();
+		Set<String> tagNames = new LinkedHashSet<>();
+		for (Line<PostRequest> line : chunk) {
+			categoryIds.add(line.item.getCategoryId());
+			titles.add(line.item.getTitle());
+			tagNames.addAll(line.item.getTags());
+		}
+
+		Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+				.collect(Collectors.toMap(Category::getId, Function.identity()));
+		// titles are unique under MySQL's case-insensitive collation
+		Set<String> takenTitles = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		takenTitles.addAll(postRepository.findExistingTitles(titles));
+		Map<String, Tag> tags = findOrCreateTags(tagNames, currentUser);
+		User user = userRepository.getById(currentUser.getId());
+
+		List<BulkItemResult> results = new ArrayList<>(chunk.size());
+		List<Post> created = new ArrayList<>(chunk.size());
+		List<Long> createdLines = new ArrayList<>(chunk.size());
+		for (Line<PostRequest> line : chunk) {
+			PostRequest request = line.item;
+			Category category = categories.get(request.getCategoryId());
+			if (category == null) {
+				results.add(BulkItemResult.failed(line.number,
+						"categoryId - " + CATEGORY + " not found with " + ID + ": " + request.getCategoryId()));
+				continue;
+			}
+
+			if (!takenTitles.add(request.getTitle())) {
+				results.add(BulkItemResult.failed(line.number, "title - A post with this title already exists"));
+				continue;
+			}
+
+			Post post = new Post();
+			post.setTitle(request.getTitle());
+			post.setBody(request.getBody());
+			post.setCategory(category);
+			post.setUser(user);
+			// Keyed by id: comparing the tag references themselves would initialise each proxy
+			Map<Long, Tag> postTags = new LinkedHashMap<>();
+			for (String name : request.getTags()) {
+				Tag tag = tags.get(name);
+				postTags.putIfAbsent(tag.getId(), tag);
+			}
+			post.setTags(new ArrayList<>(postTags.values()));
+			created.add(postRepository.save(post));
+			createdLines.add(line.number);
+		}
+
+		entityManager.flush();
+
+		Map<Long, Long> postsPerTag = new HashMap<>();
+		for (int i = 0; i < created.size(); i++) {
+			Post post = created.get(i);
+			List<Long> tagIds = post.getTags().stream().map(Tag::getId).collect(Collectors.toList());
+			tagIds.forEach(tagId -> postsPerTag.merge(tagId, 1L, Long::sum));
+			results.add(BulkItemResult.created(createdLines.get(i), post.getId()));
+			eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED, post.getId(),
+					Collections.singleton(post.getCategory().getId()), tagIds));
+		}
+
+		// One UPDATE per distinct count instead of one per tag
+		postsPerTag.entrySet().stream()
+				.collect(Collectors.groupingBy(Map.Entry::getValue, Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+				.forEach((count, tagIds) -> tagRepository.adjustPostCount(tagIds, count));
+		userStatsRepository.adjust(currentUser.getId(), UserStats.Counter.POSTS, created.size());
+
+		entityManager.clear();
+		results.sort((first, second) -> Long.compare(first.getLine(), second.getLine()));
+		return results;
+	}
+
+	private List<BulkItemResult> writeComments(List<Line<BulkCommentRequest>> chunk, UserPrincipal currentUser) {
+		Set<Long> postIds = chunk.stream().map(line -> line.item.getPostId()).collect(Collectors.toSet());
+		Set<Long> existingPostIds = new HashSet<>(postRepository.findExistingIds(postIds));
+		User user = userRepository.getById(currentUser.getId());
+
+		List<BulkItemResult> results = new ArrayList<>(chunk.size());
+		List<Comment> created = new ArrayList<>(chunk.size());
+		List<Long> createdLines = new ArrayList<>(chunk.size());
+		for (Line<BulkCommentRequest> line : chunk) {
+			BulkCommentRequest request = line.item;
+			if (!existingPostIds.contains(request.getPostId())) {
+				results.add(BulkItemResult.failed(line.number,
+						"postId - " + POST + " not found with " + ID + ": " + request.getPostId()));
+				continue;
+			}
+
+			Comment comment = new Comment(request.getBody());
+			comment.setUser(user);
+			comment.setPost(postRepository.getById(request.getPostId()));
+			comment.setName(currentUser.getUsername());
+			comment.setEmail(currentUser.getEmail());
+			created.add(commentRepository.save(comment));
+			createdLines.add(line.number);
+		}
+
+		entityManager.flush();
+
+		Set<Long> commentedPostIds = new LinkedHashSet<>();
+		for (int i = 0; i < created.size(); i++) {
+			results.add(BulkItemResult.created(createdLines.get(i), created.get(i).getId()));
+			commentedPostIds.add(created.get(i).getPost().getId());
+		}
+		commentedPostIds.forEach(postId -> eventPublisher.publishEvent(PostChangedEvent.commented(postId)));
+		userStatsRepository.adjust(currentUser.getId(), UserStats.Counter.COMMENTS, created.size());
+
+		entityManager.clear();
+		results.sort((first, second) -> Long.compare(first.getLine(), second.getLine()));
+		return results;
+	}
+
+	private Map<String, Tag> findOrCreateTags(Set<String> names, UserPrincipal currentUser) {
+		List<String> distinctNames = new ArrayList<>(names);
+		List<Tag> tags = tagService.findOrCreateTags(distinctNames, currentUser);
+
+		// findOrCreateTags answers in the order asked; MySQL matches names case-insensitively
+		Map<String, Tag> byName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (int i = 0; i < distinctNames.size(); i++) {
+			byName.putIfAbsent(distinctNames.get(i), tags.get(i));
+		}
+		return byName;
+	}
+
+	private static final class Line<T> {
+		private final long number;
+
+		private final T item;
+
+		private Line(long number, T item) {
+			this.number = number;
+			this.item = item;
+		}
+	}
+}
@@ -3,23 +3,26 @@ package com.sopromadze.blogapi.service.impl;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.CategoryRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CategoryService;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,7 +33,10 @@ public class CategoryServiceImpl implements CategoryService {
 
 	private final CategoryRepository categoryRepository;
 
+	private final PageCountService pageCountService;
+
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Category> getAllCategories(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
@@ -45,6 +51,22 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Category> getAllCategories(int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllCategories(page, size);
+		}
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
+
+		Slice<Category> categories = categoryRepository.findSliceBy(pageable);
+
+		return pageCountService.toResponse(categories, countMode, "categories", categoryRepository::count);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Category getCategory(Long id) {
 		Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
 		return category;
@@ -57,10 +79,10 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	@Override
+	@Transactional
 	public Category updateCategory(Long id, Category newCategory, UserPrincipal currentUser) {
 		Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
-		if (category.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(category.getCreatedBy())) {
 			category.setName(newCategory.getName());
 			Category updatedCategory = categoryRepository.save(category);
 			return category;
@@ -70,10 +92,10 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	@Override
+	@Transactional
 	public ResponseEntity<ApiResponse> deleteCategory(Long id, UserPrincipal currentUser) {
 		Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("category", "id", id));
-		if (category.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(category.getCreatedBy())) {
 			categoryRepository.deleteById(id);
 			return new ResponseEntity<>(new ApiResponse(Boolean.TRUE, "You successfully deleted category"), HttpStatus.OK);
 		}
@@ -1,29 +1,36 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.event.PostChangedEvent;
 import com.sopromadze.blogapi.exception.BlogapiException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.model.Post;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.CommentRequest;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.CommentRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.CommentService;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.utils.AppUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -46,7 +53,14 @@ public class CommentServiceImpl implements CommentService {
 
 	private final UserRepository userRepository;
 
+	private final UserStatsRepository userStatsRepository;
+
+	private final PageCountService pageCountService;
+
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Comment> getAllComments(Long postId, int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
@@ -58,6 +72,22 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Comment> getAllComments(Long postId, int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllComments(postId, page, size);
+		}
+		AppUtils.validatePageNumberAndSize(page, size);
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
+
+		Slice<Comment> comments = commentRepository.findSliceByPostId(postId, pageable);
+
+		return pageCountService.toResponse(comments, countMode, "comments:post:" + postId,
+				() -> commentRepository.countByPostId(postId));
+	}
+
+	@Override
+	@Transactional
 	public Comment addComment(CommentRequest commentRequest, Long postId, UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
@@ -67,10 +97,14 @@ public class CommentServiceImpl implements CommentService {
 		comment.setPost(post);
 		comment.setName(currentUser.getUsername());
 		comment.setEmail(currentUser.getEmail());
-		return commentRepository.save(comment);
+		Comment newComment = commentRepository.save(comment);
+		userStatsRepository.adjust(user.getId(), UserStats.Counter.COMMENTS, 1);
+		eventPublisher.publishEvent(PostChangedEvent.commented(postId));
+		return newComment;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Comment getComment(Long postId, Long id) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
@@ -84,6 +118,7 @@ public class CommentServiceImpl implements CommentService {
 	}
 
 	@Override
+	@Transactional
 	public Comment updateComment(Long postId, Long id, CommentRequest commentRequest,
 			UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
@@ -95,16 +130,18 @@ public class CommentServiceImpl implements CommentService {
 			throw new BlogapiException(HttpStatus.BAD_REQUEST, COMMENT_DOES_NOT_BELONG_TO_POST);
 		}
 
-		if (comment.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(comment.getUser().getId())) {
 			comment.setBody(commentRequest.getBody());
-			return commentRepository.save(comment);
+			Comment updatedComment = commentRepository.save(comment);
+			eventPublisher.publishEvent(PostChangedEvent.commented(postId));
+			return updatedComment;
 		}
 
 		throw new BlogapiException(HttpStatus.UNAUTHORIZED, YOU_DON_T_HAVE_PERMISSION_TO + "update" + THIS_COMMENT);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteComment(Long postId, Long id, UserPrincipal currentUser) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(POST_STR, ID_STR, postId));
@@ -115,9 +152,10 @@ public class CommentServiceImpl implements CommentService {
 			return new ApiResponse(Boolean.FALSE, COMMENT_DOES_NOT_BELONG_TO_POST);
 		}
 
-		if (comment.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(comment.getUser().getId())) {
 			commentRepository.deleteById(comment.getId());
+			userStatsRepository.adjust(comment.getUser().getId(), UserStats.Counter.COMMENTS, -1);
+			eventPublisher.publishEvent(PostChangedEvent.commented(postId));
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted comment");
 		}
 
@@ -7,6 +7,7 @@ import com.sopromadze.blogapi.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +16,7 @@ import javax.transaction.Transactional;
 
 @Service("customUserDetailsServiceImpl")
 @RequiredArgsConstructor
-public class CustomUserDetailsServiceImpl implements UserDetailsService, CustomUserDetailsService {
+public class CustomUserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService, CustomUserDetailsService {
 
 	private final UserRepository userRepository;
 
@@ -34,4 +35,19 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService, CustomU
 
 		return UserPrincipal.create(user);
 	}
+
+	/**
+	 * Called by the authentication provider after a successful login whose stored hash was
+	 * made with a lower bcrypt cost than the one currently configured.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		UserPrincipal principal = (UserPrincipal) userDetails;
+		User user = userRepository.findById(principal.getId())
+				.orElseThrow(() -> new UsernameNotFoundException(String.format("User not found with id: %s", principal.getId())));
+		user.setPassword(newPassword);
+
+		return UserPrincipal.create(userRepository.save(user));
+	}
 }
@@ -0,0 +1,48 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.payload.ExportSummary;
+import com.sopromadze.blogapi.payload.PostExport;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.service.ExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+	private final PostRepository postRepository;
+
+	private final long maxDurationInNanos;
+
+	public ExportServiceImpl(PostRepository postRepository,
+			@Value(value = "${app.exportMaxDurationInMs:25000}") long maxDurationInMs) {
+		this.postRepository = postRepository;
+		this.maxDurationInNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationInMs);
+	}
+
+	@Override
+	public ExportSummary exportPosts(long afterId, Consumer<PostExport> posts) {
+		// Bounding the id range up front keeps posts created during the export out of it, so it ends
+		long upToId = postRepository.findMaxId();
+		long startedAt = System.nanoTime();
+
+		ExportSummary summary = new ExportSummary();
+		summary.setLastId(Math.max(afterId, 0));
+		summary.setComplete(true);
+		postRepository.streamExport(afterId, upToId, post -> {
+			posts.accept(post);
+			summary.setExported(summary.getExported() + 1);
+			summary.setLastId(post.getId());
+
+			if (System.nanoTime() - startedAt >= maxDurationInNanos && post.getId() < upToId) {
+				summary.setComplete(false);
+				return false;
+			}
+			return true;
+		});
+		return summary;
+	}
+}
@@ -0,0 +1,86 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
+import com.sopromadze.blogapi.service.PageCountService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps recently computed COUNT results so that list endpoints queried with {@link CountMode#ESTIMATED}
+ * run the count at most once per staleness window instead of once per request.
+ */
+@Service
+public class PageCountServiceImpl implements PageCountService {
+
+	private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+	@Value(value = "${app.countCacheStalenessInMs:60000}")
+	private long stalenessInMs;
+
+	@Value(value = "${app.countCacheMaxEntries:10000}")
+	private int maxEntries;
+
+	@Override
+	public long getEstimatedCount(String countKey, LongSupplier counter) {
+		long now = System.currentTimeMillis();
+
+		CachedCount cached = counts.get(countKey);
+		if (cached != null && now - cached.computedAt <= stalenessInMs) {
+			return cached.value;
+		}
+
+		long value = counter.getAsLong();
+		if (cached == null && counts.size() >= maxEntries) {
+			evictStale(now);
+		}
+		counts.put(countKey, new CachedCount(value, now));
+
+		return value;
+	}
+
+	@Override
+	public <T> SliceResponse<T> toResponse(Slice<T> slice, CountMode countMode, String countKey, LongSupplier counter) {
+		List<T> content = slice.getNumberOfElements() == 0 ? Collections.emptyList() : slice.getContent();
+
+		if (countMode == CountMode.NONE) {
+			return new SliceResponse<>(content, slice.getNumber(), slice.getSize(), slice.isLast());
+		}
+
+		long totalElements = countMode == CountMode.ESTIMATED ? getEstimatedCount(countKey, counter) : counter.getAsLong();
+
+		// Never report fewer elements than the rows we have actually seen up to this page.
+		long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+		totalElements = slice.hasNext() ? Math.max(totalElements, seen + 1) : Math.max(totalElements, seen);
+		int totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) totalElements / slice.getSize());
+
+		return new PagedResponse<>(content, slice.getNumber(), slice.getSize(), totalElements, totalPages, slice.isLast());
+	}
+
+	private void evictStale(long now) {
+		counts.values().removeIf(cached -> now - cached.computedAt > stalenessInMs);
+
+		if (counts.size() >= maxEntries) {
+			counts.clear();
+		}
+	}
+
+	private static final class CachedCount {
+		private final long value;
+
+		private final long computedAt;
+
+		private CachedCount(long value, long computedAt) {
+			this.value = value;
+			this.computedAt = computedAt;
+		}
+	}
+}
@@ -2,16 +2,20 @@ package com.sopromadze.blogapi.service.impl;
 
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
+import com.sopromadze.blogapi.mapper.PayloadMapper;
 import com.sopromadze.blogapi.model.Album;
 import com.sopromadze.blogapi.model.Photo;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PhotoRequest;
 import com.sopromadze.blogapi.payload.PhotoResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.PhotoRepository;
+import com.sopromadze.blogapi.security.OwnershipChecker;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.service.PhotoService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import com.sopromadze.blogapi.utils.AppUtils;
@@ -19,9 +23,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,7 +45,12 @@ public class PhotoServiceImpl implements PhotoService {
 
 	private final AlbumRepository albumRepository;
 
+	private final PageCountService pageCountService;
+
+	private final OwnershipChecker ownershipChecker;
+
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<PhotoResponse> getAllPhotos(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
@@ -49,8 +59,7 @@ public class PhotoServiceImpl implements PhotoService {
 
 		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
 		for (Photo photo : photos.getContent()) {
-			photoResponses.add(new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
-					photo.getThumbnailUrl(), photo.getAlbum().getId()));
+			photoResponses.add(PayloadMapper.toPhotoResponse(photo));
 		}
 
 		if (photos.getNumberOfElements() == 0) {
@@ -63,6 +72,22 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<PhotoResponse> getAllPhotos(int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllPhotos(page, size);
+		}
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<PhotoResponse> photos = photoRepository.findSliceBy(pageable)
+				.map(PayloadMapper::toPhotoResponse);
+
+		return pageCountService.toResponse(photos, countMode, "photos", photoRepository::count);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Photo getPhoto(Long id) {
 		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
 
@@ -70,12 +95,12 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional
 	public Photo updatePhoto(Long id, PhotoRequest photoRequest, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(photoRequest.getAlbumId())
 				.orElseThrow(() -> new ResourceNotFoundException(ALBUM, ID, photoRequest.getAlbumId()));
-		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipChecker.canModifyPhoto(id, currentUser)) {
+			Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
 			photo.setTitle(photoRequest.getTitle());
 			photo.setThumbnailUrl(photoRequest.getThumbnailUrl());
 			photo.setAlbum(album);
@@ -89,6 +114,7 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional
 	public Photo addPhoto(PhotoRequest photoRequest, UserPrincipal currentUser) {
 		Album album = albumRepository.findById(photoRequest.getAlbumId())
 				.orElseThrow(() -> new ResourceNotFoundException(ALBUM, ID, photoRequest.getAlbumId()));
@@ -105,10 +131,9 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deletePhoto(Long id, UserPrincipal currentUser) {
-		Photo photo = photoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(PHOTO, ID, id));
-		if (photo.getAlbum().getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (ownershipChecker.canModifyPhoto(id, currentUser)) {
 			photoRepository.deleteById(id);
 			return new ApiResponse(Boolean.TRUE, "Photo deleted successfully");
 		}
@@ -119,6 +144,7 @@ public class PhotoServiceImpl implements PhotoService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<PhotoResponse> getAllPhotosByAlbum(Long albumId, int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
@@ -128,8 +154,7 @@ public class PhotoServiceImpl implements PhotoService {
 
 		List<PhotoResponse> photoResponses = new ArrayList<>(photos.getContent().size());
 		for (Photo photo : photos.getContent()) {
-			photoResponses.add(new PhotoResponse(photo.getId(), photo.getTitle(), photo.getUrl(),
-					photo.getThumbnailUrl(), photo.getAlbum().getId()));
+			photoResponses.add(PayloadMapper.toPhotoResponse(photo));
 		}
 
 		return new PagedResponse<>(photoResponses, photos.getNumber(), photos.getSize(), photos.getTotalElements(),
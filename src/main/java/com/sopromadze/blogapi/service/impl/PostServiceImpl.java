@@ -1,37 +1,57 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.event.PostChangedEvent;
 import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
+import com.sopromadze.blogapi.mapper.PayloadMapper;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
+import com.sopromadze.blogapi.payload.PostSummary;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.CategoryRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.PostRepository.PostTagName;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.service.TagService;
 
 import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.Cursor;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static com.sopromadze.blogapi.utils.AppConstants.CATEGORY;
 import static com.sopromadze.blogapi.utils.AppConstants.CREATED_AT;
@@ -48,11 +68,20 @@ public class PostServiceImpl implements PostService {
 
 	private final UserRepository userRepository;
 
+	private final UserStatsRepository userStatsRepository;
+
 	private final CategoryRepository categoryRepository;
 
 	private final TagRepository tagRepository;
 
+	private final TagService tagService;
+
+	private final PageCountService pageCountService;
+
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Post> getAllPosts(int page, int size) {
 		validatePageNumberAndSize(page, size);
 
@@ -67,6 +96,7 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Post> getPostsByCreatedBy(String username, int page, int size) {
 		validatePageNumberAndSize(page, size);
 		User user = userRepository.getUserByName(username);
@@ -80,6 +110,7 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Post> getPostsByCategory(Long id, int page, int size) {
 		validatePageNumberAndSize(page, size);
 		Category category = categoryRepository.findById(id)
@@ -95,6 +126,7 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Post> getPostsByTag(Long id, int page, int size) {
 		validatePageNumberAndSize(page, size);
 
@@ -111,16 +143,166 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Post> getAllPosts(int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllPosts(page, size);
+		}
+		validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<Post> posts = postRepository.findSliceBy(pageable);
+
+		return pageCountService.toResponse(posts, countMode, "posts", postRepository::count);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Post> getPostsByCreatedBy(String username, int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getPostsByCreatedBy(username, page, size);
+		}
+		validatePageNumberAndSize(page, size);
+		User user = userRepository.getUserByName(username);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<Post> posts = postRepository.findSliceByCreatedBy(user.getId(), pageable);
+
+		return pageCountService.toResponse(posts, countMode, "posts:createdBy:" + user.getId(),
+				() -> postRepository.countByCreatedBy(user.getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Post> getPostsByCategory(Long id, int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getPostsByCategory(id, page, size);
+		}
+		validatePageNumberAndSize(page, size);
+		Category category = categoryRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, id));
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<Post> posts = postRepository.findSliceByCategoryId(category.getId(), pageable);
+
+		return pageCountService.toResponse(posts, countMode, "posts:category:" + category.getId(),
+				() -> postRepository.countByCategoryId(category.getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Post> getPostsByTag(Long id, int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getPostsByTag(id, page, size);
+		}
+		validatePageNumberAndSize(page, size);
+		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, id));
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+		Slice<Post> posts = postRepository.findSliceByTagsIn(Collections.singletonList(tag), pageable);
+
+		return pageCountService.toResponse(posts, countMode, "posts:tag:" + tag.getId(),
+				() -> postRepository.countByTagsId(tag.getId()));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPagedResponse<Post> getPostFeed(String cursor, int size) {
+		validateFeedSize(size);
+		Cursor after = Cursor.decode(cursor);
+		Pageable pageable = PageRequest.of(0, size + 1);
+
+		List<Post> posts = after == null ? postRepository.findFirstPage(pageable)
+				: postRepository.findPageAfter(after.getCreatedAt(), after.getId(), pageable);
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPagedResponse<Post> getPostFeedByCreatedBy(String username, String cursor, int size) {
+		validateFeedSize(size);
+		User user = userRepository.getUserByName(username);
+		Cursor after = Cursor.decode(cursor);
+		Pageable pageable = PageRequest.of(0, size + 1);
+
+		List<Post> posts = after == null ? postRepository.findFirstPageByCreatedBy(user.getId(), pageable)
+				: postRepository.findPageAfterByCreatedBy(user.getId(), after.getCreatedAt(), after.getId(), pageable);
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPagedResponse<Post> getPostFeedByCategory(Long id, String cursor, int size) {
+		validateFeedSize(size);
+		Category category = categoryRepository.findById(id)
+				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, id));
+		Cursor after = Cursor.decode(cursor);
+		Pageable pageable = PageRequest.of(0, size + 1);
+
+		List<Post> posts = after == null ? postRepository.findFirstPageByCategoryId(category.getId(), pageable)
+				: postRepository.findPageAfterByCategoryId(category.getId(), after.getCreatedAt(), after.getId(), pageable);
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPagedResponse<Post> getPostFeedByTag(Long id, String cursor, int size) {
+		validateFeedSize(size);
+		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, id));
+		Cursor after = Cursor.decode(cursor);
+		Pageable pageable = PageRequest.of(0, size + 1);
+
+		List<Post> posts = after == null ? postRepository.findFirstPageByTagId(tag.getId(), pageable)
+				: postRepository.findPageAfterByTagId(tag.getId(), after.getCreatedAt(), after.getId(), pageable);
+
+		return toCursorPagedResponse(posts, size);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPagedResponse<PostSummary> getPostSummaryFeed(String cursor, int size) {
+		validateFeedSize(size);
+		Cursor after = Cursor.decode(cursor);
+		Pageable pageable = PageRequest.of(0, size + 1);
+
+		List<PostSummary> summaries = after == null ? postRepository.findFirstSummaryPage(pageable)
+				: postRepository.findSummaryPageAfter(after.getCreatedAt(), after.getId(), pageable);
+
+		boolean last = summaries.size() <= size;
+		List<PostSummary> content = last ? summaries : summaries.subList(0, size);
+		attachTagNames(content);
+
+		String nextCursor = null;
+		if (!last && !content.isEmpty()) {
+			PostSummary lastSummary = content.get(content.size() - 1);
+			nextCursor = new Cursor(lastSummary.getCreatedAt(), lastSummary.getId()).encode();
+		}
+
+		return new CursorPagedResponse<>(content, size, nextCursor, last);
+	}
+
+	@Override
+	@Transactional
 	public Post updatePost(Long id, PostRequest newPostRequest, UserPrincipal currentUser) {
 		Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
 		Category category = categoryRepository.findById(newPostRequest.getCategoryId())
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, newPostRequest.getCategoryId()));
-		if (post.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(post.getUser().getId())) {
+			Long previousCategoryId = post.getCategory() == null ? null : post.getCategory().getId();
 			post.setTitle(newPostRequest.getTitle());
 			post.setBody(newPostRequest.getBody());
 			post.setCategory(category);
-			return postRepository.save(post);
+			Post updatedPost = postRepository.save(post);
+			// Listings already depend on each post they show, so only a move has to touch whole category listings.
+			// Tags are not changed by an update, so no tag listing is affected.
+			List<Long> movedBetween = Objects.equals(previousCategoryId, category.getId()) ? Collections.emptyList()
+					: Arrays.asList(previousCategoryId, category.getId());
+			eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.UPDATED, id, movedBetween,
+					Collections.emptySet()));
+			return updatedPost;
 		}
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to edit this post");
 
@@ -128,11 +310,20 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deletePost(Long id, UserPrincipal currentUser) {
 		Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
-		if (post.getUser().getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(post.getUser().getId())) {
+			List<Long> tagIds = postRepository.findTagIdsByPostId(id);
+			if (!tagIds.isEmpty()) {
+				tagRepository.adjustPostCount(tagIds, -1);
+			}
+			userStatsRepository.releaseCommentsOf(id);
+			userStatsRepository.adjust(post.getUser().getId(), UserStats.Counter.POSTS, -1);
 			postRepository.deleteById(id);
+			Long categoryId = post.getCategory() == null ? null : post.getCategory().getId();
+			eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.DELETED, id,
+					Collections.singleton(categoryId), tagIds));
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted post");
 		}
 
@@ -142,20 +333,15 @@ public class PostServiceImpl implements PostService {
 	}
 
 	@Override
+	@Transactional
 	public PostResponse addPost(PostRequest postRequest, UserPrincipal currentUser) {
 		User user = userRepository.findById(currentUser.getId())
 				.orElseThrow(() -> new ResourceNotFoundException(USER, ID, 1L));
 		Category category = categoryRepository.findById(postRequest.getCategoryId())
 				.orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, postRequest.getCategoryId()));
 
-		List<Tag> tags = new ArrayList<>(postRequest.getTags().size());
-
-		for (String name : postRequest.getTags()) {
-			Tag tag = tagRepository.findByName(name);
-			tag = tag == null ? tagRepository.save(new Tag(name)) : tag;
-
-			tags.add(tag);
-		}
+		List<String> tagNames = new ArrayList<>(new LinkedHashSet<>(postRequest.getTags()));
+		List<Tag> tags = tagService.findOrCreateTags(tagNames, currentUser);
 
 		Post post = new Post();
 		post.setBody(postRequest.getBody());
@@ -165,27 +351,75 @@ public class PostServiceImpl implements PostService {
 		post.setTags(tags);
 
 		Post newPost = postRepository.save(post);
+		List<Long> tagIds = tags.stream().map(Tag::getId).collect(Collectors.toList());
+		if (!tagIds.isEmpty()) {
+			tagRepository.adjustPostCount(tagIds, 1);
+		}
+		userStatsRepository.adjust(user.getId(), UserStats.Counter.POSTS, 1);
+		eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED, newPost.getId(),
+				Collections.singleton(category.getId()), tagIds));
+
+		// Cached tags are lazy references, so report the requested names rather than initialising each one
+		return PayloadMapper.toPostResponse(newPost, tagNames);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Post getPost(Long id) {
+		return postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+	}
 
-		PostResponse postResponse = new PostResponse();
+	@Override
+	@Transactional(readOnly = true)
+	public Instant getPostUpdatedAt(Long id) {
+		return postRepository.findUpdatedAtById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+	}
 
-		postResponse.setTitle(newPost.getTitle());
-		postResponse.setBody(newPost.getBody());
-		postResponse.setCategory(newPost.getCategory().getName());
+	/**
+	 * The feed queries fetch one row more than requested; its presence tells us there is a next page
+	 * without having to count the whole result set.
+	 */
+	private CursorPagedResponse<Post> toCursorPagedResponse(List<Post> posts, int size) {
+		boolean last = posts.size() <= size;
+		List<Post> content = last ? posts : posts.subList(0, size);
+
+		String nextCursor = null;
+		if (!last && !content.isEmpty()) {
+			Post lastPost = content.get(content.size() - 1);
+			nextCursor = new Cursor(lastPost.getCreatedAt(), lastPost.getId()).encode();
+		}
 
-		List<String> tagNames = new ArrayList<>(newPost.getTags().size());
+		return new CursorPagedResponse<>(content, size, nextCursor, last);
+	}
 
-		for (Tag tag : newPost.getTags()) {
-			tagNames.add(tag.getName());
+	/**
+	 * Loads the tag names of a whole page with a single IN query instead of one lazy load per post.
+	 */
+	private void attachTagNames(List<PostSummary> summaries) {
+		if (summaries.isEmpty()) {
+			return;
 		}
 
-		postResponse.setTags(tagNames);
+		List<Long> postIds = summaries.stream().map(PostSummary::getId).collect(Collectors.toList());
+		Map<Long, List<String>> tagNames = new HashMap<>();
+		for (PostTagName postTagName : postRepository.findTagNamesByPostIdIn(postIds)) {
+			tagNames.computeIfAbsent(postTagName.getPostId(), key -> new ArrayList<>()).add(postTagName.getName());
+		}
 
-		return postResponse;
+		for (PostSummary summary : summaries) {
+			summary.setTags(tagNames.getOrDefault(summary.getId(), Collections.emptyList()));
+		}
 	}
 
-	@Override
-	public Post getPost(Long id) {
-		return postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(POST, ID, id));
+	/*
+	 * A feed page of zero posts could never be the last one nor carry a cursor to the next, so it is rejected
+	 */
+	private void validateFeedSize(int size) {
+		if (size < 1) {
+			throw new BadRequestException("Size number must be at least one.");
+		}
+
+		validatePageNumberAndSize(0, size);
 	}
 
 	private   void validatePageNumberAndSize(int page, int size) {
@@ -0,0 +1,53 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.exception.ResourceNotFoundException;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SearchResult;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.search.PostSearchIndex;
+import com.sopromadze.blogapi.search.SearchFilter;
+import com.sopromadze.blogapi.search.SearchIndexer;
+import com.sopromadze.blogapi.service.SearchService;
+import com.sopromadze.blogapi.utils.AppUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import static com.sopromadze.blogapi.utils.AppConstants.USER;
+import static com.sopromadze.blogapi.utils.AppConstants.USERNAME;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+	private final PostSearchIndex postSearchIndex;
+
+	private final SearchIndexer searchIndexer;
+
+	private final UserRepository userRepository;
+
+	@Override
+	public PagedResponse<SearchResult> search(String query, SearchResult.Type type, Long categoryId, String tag,
+			String author, int page, int size) {
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		SearchFilter filter = new SearchFilter();
+		filter.setType(type);
+		filter.setCategoryId(categoryId);
+		filter.setTag(tag);
+		if (author != null) {
+			User user = userRepository.findByUsername(author)
+					.orElseThrow(() -> new ResourceNotFoundException(USER, USERNAME, author));
+			filter.setUserId(user.getId());
+		}
+
+		return postSearchIndex.search(query, filter, page, size);
+	}
+
+	@Override
+	public ApiResponse reindex() {
+		searchIndexer.reindex();
+		return new ApiResponse(Boolean.TRUE, "Search reindex started");
+	}
+}
@@ -1,34 +1,68 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Tag;
-import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.service.TagService;
 import com.sopromadze.blogapi.utils.AppUtils;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
 
 	private final TagRepository tagRepository;
 
+	private final PageCountService pageCountService;
+
+	/**
+	 * Tag name to id, shared by every post that is created. The TTL bounds how long another node
+	 * can keep resolving a name to a tag that was renamed or deleted elsewhere.
+	 */
+	private final Cache<String, Long> tagIds;
+
+	public TagServiceImpl(TagRepository tagRepository, PageCountService pageCountService,
+			@Value(value = "${app.tagIdCacheMaxSize:10000}") long tagIdCacheMaxSize,
+			@Value(value = "${app.tagIdCacheTtlInMs:600000}") long tagIdCacheTtlInMs) {
+		this.tagRepository = tagRepository;
+		this.pageCountService = pageCountService;
+		this.tagIds = Caffeine.newBuilder()
+				.maximumSize(tagIdCacheMaxSize)
+				.expireAfterWrite(tagIdCacheTtlInMs, TimeUnit.MILLISECONDS)
+				.build();
+	}
+
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Tag> getAllTags(int page, int size) {
 		AppUtils.validatePageNumberAndSize(page, size);
 
@@ -42,6 +76,22 @@ public class TagServiceImpl implements TagService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Tag> getAllTags(int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllTags(page, size);
+		}
+		AppUtils.validatePageNumberAndSize(page, size);
+
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "createdAt");
+
+		Slice<Tag> tags = tagRepository.findSliceBy(pageable);
+
+		return pageCountService.toResponse(tags, countMode, "tags", tagRepository::count);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Tag getTag(Long id) {
 		return tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
 	}
@@ -52,10 +102,11 @@ public class TagServiceImpl implements TagService {
 	}
 
 	@Override
+	@Transactional
 	public Tag updateTag(Long id, Tag newTag, UserPrincipal currentUser) {
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
-		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(tag.getCreatedBy())) {
+			tagIds.invalidate(tag.getName());
 			tag.setName(newTag.getName());
 			return tagRepository.save(tag);
 		}
@@ -65,11 +116,12 @@ public class TagServiceImpl implements TagService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteTag(Long id, UserPrincipal currentUser) {
 		Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", id));
-		if (tag.getCreatedBy().equals(currentUser.getId()) || currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(tag.getCreatedBy())) {
 			tagRepository.deleteById(id);
+			tagIds.invalidate(tag.getName());
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted tag");
 		}
 
@@ -77,26 +129,85 @@ public class TagServiceImpl implements TagService {
 
 		throw new UnauthorizedException(apiResponse);
 	}
-}
-
-
-
-
-
-
-
-
-
-
-
-
 
+	/**
+	 * Resolves tag names in at most three statements regardless of how many names are given: one IN query for
+	 * names not already cached, one batched insert for the ones that do not exist yet and one IN query to read
+	 * back their ids. Cached names are returned as references without touching the database.
+	 */
+	@Override
+	public List<Tag> findOrCreateTags(Collection<String> names, UserPrincipal currentUser) {
+		Set<String> distinctNames = new LinkedHashSet<>(names);
+		if (distinctNames.isEmpty()) {
+			return Collections.emptyList();
+		}
 
+		Map<String, Long> cachedIds = tagIds.getAllPresent(distinctNames);
 
+		// MySQL compares names case-insensitively, so the rows it returns may differ in case from what was asked
+		Map<String, Tag> loaded = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		List<String> missing = new ArrayList<>();
+		for (String name : distinctNames) {
+			if (!cachedIds.containsKey(name)) {
+				missing.add(name);
+			}
+		}
 
+		if (!missing.isEmpty()) {
+			putByName(loaded, tagRepository.findByNameIn(missing));
+			missing.removeIf(loaded::containsKey);
+		}
 
+		if (!missing.isEmpty()) {
+			tagRepository.insertIgnoringExisting(missing, currentUser.getId());
+			putByName(loaded, tagRepository.findByNameIn(missing));
+		}
 
+		List<Tag> tags = new ArrayList<>(distinctNames.size());
+		Map<String, Long> resolvedIds = new HashMap<>();
+		for (String name : distinctNames) {
+			Long cachedId = cachedIds.get(name);
+			if (cachedId != null) {
+				tags.add(tagRepository.getById(cachedId));
+				continue;
+			}
+
+			Tag tag = loaded.get(name);
+			if (tag == null) {
+				throw new AppException("Could not resolve tag: " + name);
+			}
+			resolvedIds.put(name, tag.getId());
+			tags.add(tag);
+		}
+		cacheAfterCommit(resolvedIds);
 
+		return tags;
+	}
 
+	/*
+	 * Tags inserted by a transaction that rolls back do not exist, so their ids must not reach the cache
+	 * before the caller's transaction (addPost, a bulk import chunk) has committed.
+	 */
+	private void cacheAfterCommit(Map<String, Long> resolvedIds) {
+		if (resolvedIds.isEmpty()) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			tagIds.putAll(resolvedIds);
+			return;
+		}
 
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				tagIds.putAll(resolvedIds);
+			}
+		});
+	}
 
+	private static void putByName(Map<String, Tag> tagsByName, List<Tag> tags) {
+		for (Tag tag : tags) {
+			tagsByName.put(tag.getName(), tag);
+		}
+	}
+}
@@ -5,11 +5,16 @@ import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Todo;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
+import com.sopromadze.blogapi.payload.CountMode;
 import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
 import com.sopromadze.blogapi.repository.TodoRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PageCountService;
 import com.sopromadze.blogapi.service.TodoService;
 import com.sopromadze.blogapi.utils.AppConstants;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +22,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
@@ -36,7 +43,12 @@ public class TodoServiceImpl implements TodoService {
 
 	private final UserRepository userRepository;
 
+	private final UserStatsRepository userStatsRepository;
+
+	private final PageCountService pageCountService;
+
 	@Override
+	@Transactional
 	public Todo completeTodo(Long id, UserPrincipal currentUser) {
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
 
@@ -53,6 +65,7 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public Todo unCompleteTodo(Long id, UserPrincipal currentUser) {
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
 		User user = userRepository.getUser(currentUser);
@@ -67,6 +80,7 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public PagedResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size) {
 		validatePageNumberAndSize(page, size);
 		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
@@ -80,13 +94,32 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public SliceResponse<Todo> getAllTodos(UserPrincipal currentUser, int page, int size, CountMode countMode) {
+		if (countMode == CountMode.EXACT) {
+			return getAllTodos(currentUser, page, size);
+		}
+		validatePageNumberAndSize(page, size);
+		Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, CREATED_AT);
+
+		Slice<Todo> todos = todoRepository.findSliceByCreatedBy(currentUser.getId(), pageable);
+
+		return pageCountService.toResponse(todos, countMode, "todos:createdBy:" + currentUser.getId(),
+				() -> todoRepository.countByCreatedBy(currentUser.getId()));
+	}
+
+	@Override
+	@Transactional
 	public Todo addTodo(Todo todo, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		todo.setUser(user);
-		return todoRepository.save(todo);
+		Todo newTodo = todoRepository.save(todo);
+		userStatsRepository.adjust(user.getId(), UserStats.Counter.TODOS, 1);
+		return newTodo;
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public Todo getTodo(Long id, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
@@ -101,6 +134,7 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public Todo updateTodo(Long id, Todo newTodo, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
@@ -116,12 +150,14 @@ public class TodoServiceImpl implements TodoService {
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse deleteTodo(Long id, UserPrincipal currentUser) {
 		User user = userRepository.getUser(currentUser);
 		Todo todo = todoRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(TODO, ID, id));
 
 		if (todo.getUser().getId().equals(user.getId())) {
 			todoRepository.deleteById(id);
+			userStatsRepository.adjust(user.getId(), UserStats.Counter.TODOS, -1);
 			return new ApiResponse(Boolean.TRUE, "You successfully deleted todo");
 		}
 
@@ -5,28 +5,34 @@ import com.sopromadze.blogapi.exception.AppException;
 import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
+import com.sopromadze.blogapi.mapper.PayloadMapper;
 import com.sopromadze.blogapi.model.role.Role;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.Address;
 import com.sopromadze.blogapi.model.user.Company;
 import com.sopromadze.blogapi.model.user.Geo;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.InfoRequest;
 import com.sopromadze.blogapi.payload.UserIdentityAvailability;
+import com.sopromadze.blogapi.payload.UserPatchRequest;
 import com.sopromadze.blogapi.payload.UserProfile;
 import com.sopromadze.blogapi.payload.UserSummary;
-import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.TokenRevocationRegistry;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
 import com.sopromadze.blogapi.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,39 +43,43 @@ public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 
-	private final PostRepository postRepository;
+	private final UserStatsRepository userStatsRepository;
 
 	private final RoleRepository roleRepository;
 
 	private final PasswordEncoder passwordEncoder;
 
+	private final UserPrincipalCache userPrincipalCache;
+
+	private final TokenRevocationRegistry tokenRevocationRegistry;
+
+	private final TransactionTemplate transactionTemplate;
+
 	@Override
 	public UserSummary getCurrentUser(UserPrincipal currentUser) {
-		return new UserSummary(currentUser.getId(), currentUser.getUsername(), currentUser.getFirstName(),
-				currentUser.getLastName());
+		return PayloadMapper.toUserSummary(currentUser);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public UserIdentityAvailability checkUsernameAvailability(String username) {
 		Boolean isAvailable = !userRepository.existsByUsername(username);
 		return new UserIdentityAvailability(isAvailable);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public UserIdentityAvailability checkEmailAvailability(String email) {
 		Boolean isAvailable = !userRepository.existsByEmail(email);
 		return new UserIdentityAvailability(isAvailable);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public UserProfile getUserProfile(String username) {
 		User user = userRepository.getUserByName(username);
 
-		Long postCount = postRepository.countByCreatedBy(user.getId());
-
-		return new UserProfile(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
-				user.getCreatedAt(), user.getEmail(), user.getAddress(), user.getPhone(), user.getWebsite(),
-				user.getCompany(), postCount);
+		return toUserProfile(user);
 	}
 
 	@Override
@@ -96,8 +106,7 @@ public class UserServiceImpl implements UserService {
 	@Override
 	public User updateUser(User newUser, String username, UserPrincipal currentUser) {
 		User user = userRepository.getUserByName(username);
-		if (user.getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(user.getId())) {
 			user.setFirstName(newUser.getFirstName());
 			user.setLastName(newUser.getLastName());
 			user.setPassword(passwordEncoder.encode(newUser.getPassword()));
@@ -106,7 +115,10 @@ public class UserServiceImpl implements UserService {
 			user.setWebsite(newUser.getWebsite());
 			user.setCompany(newUser.getCompany());
 
-			return userRepository.save(user);
+			User updatedUser = userRepository.save(user);
+			invalidatePrincipal(user.getId());
+
+			return updatedUser;
 
 		}
 
@@ -115,22 +127,73 @@ public class UserServiceImpl implements UserService {
 
 	}
 
+	/**
+	 * Applies only the fields present in the request to the managed user, so the flush updates
+	 * just the changed columns. bcrypt runs once, only when a password is sent, and before the
+	 * transaction starts, so no pooled connection is held while it hashes. Comparing against the
+	 * stored hash would cost a bcrypt round of its own, so a resent password is simply rehashed.
+	 * Cached principals and tokens are only invalidated when a field they carry changes.
+	 */
 	@Override
+	public User patchUser(UserPatchRequest patchRequest, String username, UserPrincipal currentUser) {
+		User current = userRepository.getUserByName(username);
+		if (!currentUser.canModify(current.getId())) {
+			ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update profile of: " + username);
+			throw new UnauthorizedException(apiResponse);
+		}
+
+		String newPassword = patchRequest.getPassword() != null ? passwordEncoder.encode(patchRequest.getPassword()) : null;
+
+		boolean[] principalChanged = { false };
+		User updatedUser = transactionTemplate.execute(status -> {
+			// Reloaded so a change made by someone else while the password was hashed is not overwritten
+			User user = userRepository.getUserByName(username);
+			if (patchRequest.getFirstName() != null && !patchRequest.getFirstName().equals(user.getFirstName())) {
+				user.setFirstName(patchRequest.getFirstName());
+				principalChanged[0] = true;
+			}
+			if (patchRequest.getLastName() != null && !patchRequest.getLastName().equals(user.getLastName())) {
+				user.setLastName(patchRequest.getLastName());
+				principalChanged[0] = true;
+			}
+			if (newPassword != null) {
+				user.setPassword(newPassword);
+				principalChanged[0] = true;
+			}
+			if (patchRequest.getPhone() != null) {
+				user.setPhone(patchRequest.getPhone());
+			}
+			if (patchRequest.getWebsite() != null) {
+				user.setWebsite(patchRequest.getWebsite());
+			}
+
+			return userRepository.save(user);
+		});
+		if (principalChanged[0]) {
+			invalidatePrincipal(current.getId());
+		}
+
+		return updatedUser;
+	}
+
+	@Override
+	@Transactional
 	public ApiResponse deleteUser(String username, UserPrincipal currentUser) {
 		User user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new ResourceNotFoundException("User", "id", username));
-		if (!user.getId().equals(currentUser.getId()) || !currentUser.getAuthorities()
-				.contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (!user.getId().equals(currentUser.getId()) || !currentUser.isAdmin()) {
 			ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to delete profile of: " + username);
 			throw new AccessDeniedException(apiResponse);
 		}
 
 		userRepository.deleteById(user.getId());
+		invalidatePrincipal(user.getId());
 
 		return new ApiResponse(Boolean.TRUE, "You successfully deleted profile of: " + username);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse giveAdmin(String username) {
 		User user = userRepository.getUserByName(username);
 		List<Role> roles = new ArrayList<>();
@@ -140,10 +203,12 @@ public class UserServiceImpl implements UserService {
 				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
 		user.setRoles(roles);
 		userRepository.save(user);
+		invalidatePrincipal(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You gave ADMIN role to user: " + username);
 	}
 
 	@Override
+	@Transactional
 	public ApiResponse removeAdmin(String username) {
 		User user = userRepository.getUserByName(username);
 		List<Role> roles = new ArrayList<>();
@@ -151,10 +216,12 @@ public class UserServiceImpl implements UserService {
 				roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(() -> new AppException("User role not set")));
 		user.setRoles(roles);
 		userRepository.save(user);
+		invalidatePrincipal(user.getId());
 		return new ApiResponse(Boolean.TRUE, "You took ADMIN role from user: " + username);
 	}
 
 	@Override
+	@Transactional
 	public UserProfile setOrUpdateInfo(UserPrincipal currentUser, InfoRequest infoRequest) {
 		User user = userRepository.findByUsername(currentUser.getUsername())
 				.orElseThrow(() -> new ResourceNotFoundException("User", "username", currentUser.getUsername()));
@@ -162,23 +229,31 @@ public class UserServiceImpl implements UserService {
 		Address address = new Address(infoRequest.getStreet(), infoRequest.getSuite(), infoRequest.getCity(),
 				infoRequest.getZipcode(), geo);
 		Company company = new Company(infoRequest.getCompanyName(), infoRequest.getCatchPhrase(), infoRequest.getBs());
-		if (user.getId().equals(currentUser.getId())
-				|| currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+		if (currentUser.canModify(user.getId())) {
 			user.setAddress(address);
 			user.setCompany(company);
 			user.setWebsite(infoRequest.getWebsite());
 			user.setPhone(infoRequest.getPhone());
 			User updatedUser = userRepository.save(user);
 
-			Long postCount = postRepository.countByCreatedBy(updatedUser.getId());
-
-			return new UserProfile(updatedUser.getId(), updatedUser.getUsername(),
-					updatedUser.getFirstName(), updatedUser.getLastName(), updatedUser.getCreatedAt(),
-					updatedUser.getEmail(), updatedUser.getAddress(), updatedUser.getPhone(), updatedUser.getWebsite(),
-					updatedUser.getCompany(), postCount);
+			return toUserProfile(updatedUser);
 		}
 
 		ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to update users profile", HttpStatus.FORBIDDEN);
 		throw new AccessDeniedException(apiResponse);
 	}
+
+	private UserProfile toUserProfile(User user) {
+		// Users that predate user_stats are counted from the source tables until the reconciler creates their
+		// row; a profile read never writes
+		UserStats stats = userStatsRepository.findById(user.getId())
+				.orElseGet(() -> userStatsRepository.countFromSource(user.getId()));
+
+		return PayloadMapper.toUserProfile(user, stats);
+	}
+
+	private void invalidatePrincipal(Long userId) {
+		userPrincipalCache.evict(userId);
+		tokenRevocationRegistry.revoke(userId);
+	}
 }
@@ -0,0 +1,80 @@
+package com.sopromadze.blogapi.utils;
+
+import com.sopromadze.blogapi.exception.BadRequestException;
+import com.sopromadze.blogapi.payload.ApiResponse;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque position in a feed ordered by {@code createdAt DESC, id DESC}.
+ * Clients receive it base64 encoded and send it back untouched to fetch the next page.
+ */
+public final class Cursor {
+	private static final String SEPARATOR = ":";
+
+	private final Instant createdAt;
+
+	private final Long id;
+
+	public Cursor(Instant createdAt, Long id) {
+		this.createdAt = Objects.requireNonNull(createdAt);
+		this.id = Objects.requireNonNull(id);
+	}
+
+	public static Cursor decode(String cursor) {
+		if (!StringUtils.hasText(cursor)) {
+			return null;
+		}
+
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR);
+			if (parts.length != 3) {
+				throw new IllegalArgumentException(decoded);
+			}
+
+			Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+			return new Cursor(createdAt, Long.valueOf(parts[2]));
+		} catch (IllegalArgumentException | DateTimeException ex) {
+			throw new BadRequestException(new ApiResponse(Boolean.FALSE, "Invalid cursor: " + cursor));
+		}
+	}
+
+	public String encode() {
+		String raw = createdAt.getEpochSecond() + SEPARATOR + createdAt.getNano() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object)
+			return true;
+		if (object == null || getClass() != object.getClass())
+			return false;
+		Cursor that = (Cursor) object;
+		return createdAt.equals(that.createdAt) && id.equals(that.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(createdAt, id);
+	}
+
+	@Override
+	public String toString() {
+		return encode();
+	}
+}
@@ -0,0 +1,67 @@
+package com.sopromadze.blogapi.utils;
+
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Weak validators for GET responses. A single entity is identified by its id and the
+ * {@code updatedAt} written by auditing; a list by the versions of every element plus the page metadata.
+ */
+public final class ETags {
+	private static final String SEPARATOR = ":";
+
+	private ETags() {
+	}
+
+	public static String of(String type, Long id, Instant updatedAt, Object... extra) {
+		StringBuilder version = new StringBuilder(type).append(SEPARATOR).append(id).append(SEPARATOR)
+				.append(toEpochMilli(updatedAt));
+		for (Object value : extra) {
+			version.append(SEPARATOR).append(value);
+		}
+
+		return weak(version.toString());
+	}
+
+	public static <T> String of(SliceResponse<T> response, Function<T, Object> version) {
+		StringBuilder metadata = new StringBuilder().append(response.getPage()).append(SEPARATOR)
+				.append(response.getSize()).append(SEPARATOR).append(response.isLast());
+		if (response instanceof PagedResponse) {
+			metadata.append(SEPARATOR).append(((PagedResponse<?>) response).getTotalElements());
+		}
+
+		return of(response.getContent(), version, metadata.toString());
+	}
+
+	public static <T> String of(List<T> content, Function<T, Object> version, String metadata) {
+		StringBuilder versions = new StringBuilder(metadata);
+		if (content != null) {
+			for (T item : content) {
+				versions.append(SEPARATOR).append(version.apply(item));
+			}
+		}
+
+		return weak(DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Version of an audited row: its id and last modification time.
+	 */
+	public static String version(Long id, Instant updatedAt) {
+		return id + "@" + toEpochMilli(updatedAt);
+	}
+
+	public static long toEpochMilli(Instant instant) {
+		return instant == null ? -1 : instant.toEpochMilli();
+	}
+
+	private static String weak(String tag) {
+		return "W/\"" + tag + "\"";
+	}
+}
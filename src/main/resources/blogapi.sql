@@ -1,11 +1,21 @@
 UNLOCK TABLES;
 
+DROP TABLE IF EXISTS `replica_heartbeat`;
+DROP TABLE IF EXISTS `comment_seq`;
+DROP TABLE IF EXISTS `post_seq`;
+DROP TABLE IF EXISTS `todo_seq`;
+DROP TABLE IF EXISTS `photo_seq`;
+DROP TABLE IF EXISTS `album_seq`;
+DROP TABLE IF EXISTS `tag_seq`;
+DROP TABLE IF EXISTS `user_seq`;
 DROP TABLE IF EXISTS `post_tag`;
 DROP TABLE IF EXISTS `tags`;
+DROP TABLE IF EXISTS `user_stats`;
 DROP TABLE IF EXISTS `user_role`;
 DROP TABLE IF EXISTS `roles`;
 DROP TABLE IF EXISTS `comments`;
 DROP TABLE IF EXISTS `posts`;
+DROP TABLE IF EXISTS `categories`;
 DROP TABLE IF EXISTS `photos`;
 DROP TABLE IF EXISTS `albums`;
 DROP TABLE IF EXISTS `todos`;
@@ -17,11 +27,13 @@ DROP TABLE IF EXISTS `geo`;
 CREATE TABLE `tags` (
   `id` bigint(19) unsigned NOT NULL AUTO_INCREMENT,
   `name` varchar(255) NOT NULL,
+  `post_count` bigint(19) unsigned NOT NULL DEFAULT 0,
   `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `created_by` bigint(19) unsigned NOT NULL,
   `updated_by` bigint(19) unsigned NOT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_tags_name` (`name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
 CREATE TABLE `geo` (
@@ -74,6 +86,7 @@ CREATE TABLE `users` (
   `phone` varchar(255),
   `website` varchar(255),
   `company_id` bigint(19) unsigned DEFAULT NULL,
+  `token_version` bigint(19) unsigned NOT NULL DEFAULT 0,
   `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   PRIMARY KEY (`id`),
@@ -125,18 +138,33 @@ CREATE TABLE `photos` (
   CONSTRAINT `fk_album` FOREIGN KEY (`album_id`) REFERENCES `albums` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
+CREATE TABLE `categories` (
+  `id` bigint(19) unsigned NOT NULL AUTO_INCREMENT,
+  `name` varchar(255) NOT NULL,
+  `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `created_by` bigint(19) unsigned DEFAULT NULL,
+  `updated_by` bigint(19) unsigned DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
+
 CREATE TABLE `posts` (
   `id` bigint(19) unsigned NOT NULL AUTO_INCREMENT,
   `title` varchar(255) NOT NULL,
   `body` text NOT NULL,
   `user_id` bigint(19) unsigned DEFAULT NULL,
+  `category_id` bigint(19) unsigned DEFAULT NULL,
   `created_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `updated_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   `created_by` bigint(19) unsigned DEFAULT NULL,
   `updated_by` bigint(19) unsigned DEFAULT NULL,
   PRIMARY KEY (`id`),
   KEY `fk_user_post` (`user_id`),
-  CONSTRAINT `fk_user_post` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`)
+  KEY `idx_posts_created_at_id` (`created_at`, `id`),
+  KEY `idx_posts_created_by_created_at_id` (`created_by`, `created_at`, `id`),
+  KEY `idx_posts_category_id_created_at_id` (`category_id`, `created_at`, `id`),
+  CONSTRAINT `fk_user_post` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`),
+  CONSTRAINT `fk_category_post` FOREIGN KEY (`category_id`) REFERENCES `categories` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
 CREATE TABLE `post_tag` (
@@ -145,7 +173,7 @@ CREATE TABLE `post_tag` (
   `tag_id` bigint(19) unsigned NOT NULL,
   PRIMARY KEY (`id`),
   KEY `fk_posttag_post_id` (`post_id`),
-  KEY `fk_posttag_tag_id` (`tag_id`),
+  KEY `idx_post_tag_tag_id_post_id` (`tag_id`, `post_id`),
   CONSTRAINT `fk_posttag_post_id` FOREIGN KEY (`post_id`) REFERENCES `posts` (`id`),
   CONSTRAINT `fk_posttag_tag_id` FOREIGN KEY (`tag_id`) REFERENCES `tags` (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -185,6 +213,69 @@ CREATE TABLE `user_role` (
   CONSTRAINT `fk_security_role_id` FOREIGN KEY (`role_id`) REFERENCES `roles` (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
+CREATE TABLE `user_stats` (
+  `user_id` bigint(19) unsigned NOT NULL,
+  `post_count` bigint(19) unsigned NOT NULL DEFAULT 0,
+  `comment_count` bigint(19) unsigned NOT NULL DEFAULT 0,
+  `album_count` bigint(19) unsigned NOT NULL DEFAULT 0,
+  `todo_count` bigint(19) unsigned NOT NULL DEFAULT 0,
+  PRIMARY KEY (`user_id`),
+  CONSTRAINT `fk_user_stats_user` FOREIGN KEY (`user_id`) REFERENCES `users` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Id tables for PooledIdGenerator (MySQL has no sequences). next_val is the next id to hand out and
+-- must stay above the highest id in use, hence the MAX(id) seeds.
+CREATE TABLE `user_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `user_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `users`;
+
+CREATE TABLE `tag_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `tag_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `tags`;
+
+CREATE TABLE `album_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `album_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `albums`;
+
+CREATE TABLE `photo_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `photo_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `photos`;
+
+CREATE TABLE `todo_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `todo_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `todos`;
+
+CREATE TABLE `post_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `post_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `posts`;
+
+CREATE TABLE `comment_seq` (
+  `next_val` bigint(19) unsigned NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `comment_seq` SELECT COALESCE(MAX(`id`), 0) + 1 FROM `comments`;
+
+-- Written to the primary and read back from the replica to measure replication lag (app.replicaMaxLagInMs)
+CREATE TABLE `replica_heartbeat` (
+  `id` int(10) unsigned NOT NULL,
+  `beat` bigint(19) NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+INSERT INTO `replica_heartbeat` VALUES (1, 0);
+
 LOCK TABLES `roles` WRITE;
 INSERT INTO `roles` VALUES (1,'ROLE_ADMIN'),(2,'ROLE_USER');
 UNLOCK TABLES;
@@ -0,0 +1,77 @@
+package com.sopromadze.blogapi.cache;
+
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedResponseCacheTest {
+
+    RenderedResponseCache renderedResponseCache;
+
+    @BeforeEach
+    void init(){
+        renderedResponseCache = new RenderedResponseCache(true, 1024 * 1024, 60000);
+    }
+
+    RenderedResponse rendered(String body, String... dependencies){
+        return new RenderedResponse(body.getBytes(StandardCharsets.UTF_8), "W/\"1\"", -1, Set.of(dependencies));
+    }
+
+    @Test
+    void get_CountsHitsAndBytesSaved(){
+        renderedResponseCache.put("post:1", renderedResponseCache.currentGeneration(), rendered("{}", "post:1"));
+
+        assertNotNull(renderedResponseCache.get("post:1"));
+        assertNull(renderedResponseCache.get("post:2"));
+        assertEquals(1, renderedResponseCache.getStats().hitCount());
+        assertEquals(1, renderedResponseCache.getStats().missCount());
+        assertEquals(2, renderedResponseCache.getBytesSaved());
+    }
+
+    @Test
+    void onPostChanged_UpdateEvictsListingsContainingThePost(){
+        renderedResponseCache.put("posts?page=0", renderedResponseCache.currentGeneration(),
+                rendered("[1,2]", RenderedResponseCache.ALL_POSTS, "post:1", "post:2"));
+        renderedResponseCache.put("posts:category:5?page=0", renderedResponseCache.currentGeneration(),
+                rendered("[3]", "category:5", "post:3"));
+
+        renderedResponseCache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.UPDATED, 2L,
+                Collections.emptySet(), Collections.emptySet()));
+
+        assertNull(renderedResponseCache.get("posts?page=0"));
+        assertNotNull(renderedResponseCache.get("posts:category:5?page=0"));
+    }
+
+    @Test
+    void onPostChanged_CreateEvictsAffectedListings(){
+        renderedResponseCache.put("posts?page=0", renderedResponseCache.currentGeneration(),
+                rendered("[1]", RenderedResponseCache.ALL_POSTS, "post:1"));
+        renderedResponseCache.put("posts:tag:7?page=0", renderedResponseCache.currentGeneration(),
+                rendered("[1]", "tag:7", "post:1"));
+        renderedResponseCache.put("posts:tag:8?page=0", renderedResponseCache.currentGeneration(),
+                rendered("[4]", "tag:8", "post:4"));
+
+        renderedResponseCache.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.CREATED, 9L,
+                Set.of(5L), Set.of(7L)));
+
+        assertNull(renderedResponseCache.get("posts?page=0"));
+        assertNull(renderedResponseCache.get("posts:tag:7?page=0"));
+        assertNotNull(renderedResponseCache.get("posts:tag:8?page=0"));
+    }
+
+    @Test
+    void put_DropsResponseRenderedBeforeAnInvalidation(){
+        long generation = renderedResponseCache.currentGeneration();
+        renderedResponseCache.onPostChanged(PostChangedEvent.commented(1L));
+
+        renderedResponseCache.put("post:1", generation, rendered("{}", "post:1"));
+
+        assertNull(renderedResponseCache.get("post:1"));
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -53,7 +54,7 @@ class CategoryControllerTest {
     void init(){
         apiResponse=new ApiResponse(true,"You successfully deleted category");
         user = new UserPrincipal(1L,"user", "user","user","user@gmail.com", "user", List.of(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
-        category=new Category();category.setId(1L); category.setName("Viaje");
+        category=new Category();category.setId(1L); category.setName("Viaje"); category.setUpdatedAt(Instant.now());
     }
 
 
@@ -0,0 +1,119 @@
+package com.sopromadze.blogapi.controller;
+
+import com.sopromadze.blogapi.cache.RenderedResponseCache;
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.List;
+
+import static com.sopromadze.blogapi.metrics.QueryCountAssertions.assertSelectCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Renders post listings end to end against real repositories and pins the selects each request runs,
+ * including whatever Jackson lazily loads while writing the response. A count that grows with the page
+ * size is an N+1.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = { "app.jwtSecret=secret", "app.jwtExpirationInMs=3600000" })
+class PostControllerQueryCountTest {
+
+    private static final int POSTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RenderedResponseCache renderedResponseCache;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        Tag tag = new Tag("java");
+        tag.setCreatedAt(Instant.now());
+        tag.setUpdatedAt(Instant.now());
+        tagRepository.save(tag);
+
+        category = new Category("Programacion");
+        category.setCreatedAt(Instant.now());
+        category.setUpdatedAt(Instant.now());
+        categoryRepository.save(category);
+
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post();
+            post.setTitle("title" + i);
+            post.setBody("body" + i);
+            post.setCategory(category);
+            post.setTags(List.of(tag));
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            postRepository.save(post);
+        }
+
+        // Start every request from cold caches, so the counts do not depend on test order
+        entityManagerFactory.getCache().evictAll();
+        renderedResponseCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        categoryRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    void getAllPosts_LoadsCategoriesAndTagsInBatches() throws Exception {
+        mockMvc.perform(get("/api/posts").param("size", String.valueOf(POSTS - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS - 1))
+                .andExpect(jsonPath("$.totalElements").value(POSTS));
+
+        // The page of posts joined with their categories, the count, and one batch for the tags of the page
+        assertSelectCount(3);
+    }
+
+    @Test
+    void getPostFeedByCategory_DoesNotLoadCategoryPosts() throws Exception {
+        mockMvc.perform(get("/api/posts/feed/category/{id}", category.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS))
+                .andExpect(jsonPath("$.content[0].category.name").value("Programacion"))
+                .andExpect(jsonPath("$.content[0].category.posts").doesNotExist());
+
+        // The category, the page of posts joined with it, and one batch for the tags of the whole page
+        assertSelectCount(3);
+    }
+}
@@ -1,6 +1,7 @@
 package com.sopromadze.blogapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.cache.RenderedResponseCache;
 import com.sopromadze.blogapi.model.Category;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
@@ -11,6 +12,8 @@ import com.sopromadze.blogapi.payload.PostRequest;
 import com.sopromadze.blogapi.payload.PostResponse;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import com.sopromadze.blogapi.service.PostService;
+import com.sopromadze.blogapi.utils.AppConstants;
+import com.sopromadze.blogapi.utils.ETags;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -29,6 +32,8 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = {SpringSecurityTestWebConfig.class})
@@ -47,6 +52,9 @@ class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RenderedResponseCache renderedResponseCache;
+
     private static Post post;
     private static Category category;
     private static Tag tag;
@@ -58,6 +66,7 @@ class PostControllerTest {
 
     @BeforeEach
     void setUp() {
+        renderedResponseCache.invalidateAll();
 
         apiResponse=new ApiResponse(true,"Se ha borrado el post");
 
@@ -155,13 +164,27 @@ class PostControllerTest {
 
     @Test
     void getPost_Success() throws Exception {
+        when(postService.getPostUpdatedAt(1L)).thenReturn(post.getUpdatedAt());
         when(postService.getPost(1L)).thenReturn(post);
 
         mockMvc.perform(
                 get("/api/posts/{id}",1L)
                                 .contentType("application/json")
                                 .content(objectMapper.writeValueAsString(post)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void getPost_NotModified() throws Exception {
+        when(postService.getPostUpdatedAt(1L)).thenReturn(post.getUpdatedAt());
+
+        mockMvc.perform(
+                get("/api/posts/{id}",1L)
+                        .header("If-None-Match", ETags.of(AppConstants.POST, 1L, post.getUpdatedAt())))
+                .andExpect(status().isNotModified());
+
+        verify(postService, never()).getPost(1L);
     }
 
     @Test
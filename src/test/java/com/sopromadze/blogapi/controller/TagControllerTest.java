@@ -18,6 +18,7 @@ import org.springframework.data.domain.*;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -52,7 +53,7 @@ class TagControllerTest {
 
     @BeforeEach
     void init (){
-        tag=new Tag(); tag.setId(ONE_ID); tag.setName("MegaTag"); tag.setPosts(List.of(new Post()));
+        tag=new Tag(); tag.setId(ONE_ID); tag.setName("MegaTag"); tag.setPosts(List.of(new Post())); tag.setUpdatedAt(Instant.now());
         pageable= PageRequest.of(ONE, ONE, Sort.Direction.DESC,"a");
         page=new PageImpl(List.of(tag),pageable,ONE);
         pagedResponse=new PagedResponse(); pagedResponse.setPage(ONE);pagedResponse.setContent(List.of(tag));pagedResponse.setLast(true);pagedResponse.setTotalPages(ONE);pagedResponse.setTotalElements(1);
@@ -100,6 +101,17 @@ class TagControllerTest {
                 .andExpect(jsonPath("$.name").value("MegaTag"));
     }
 
+    @Test
+    void getTag_IgnoresIfModifiedSince() throws Exception {
+        when(tagService.getTag(anyLong())).thenReturn(tag);
+
+        mockMvc.perform(get("/api/tags/{id}",ONE_ID)
+                        .header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
+    }
+
     @Test
     @WithUserDetails("admin")
     void updateTag_Success () throws Exception{
@@ -0,0 +1,148 @@
+package com.sopromadze.blogapi.datasource;
+
+import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two separate H2 databases standing in for the primary and the replica. The replica starts
+ * as a copy of the primary and nothing replicates afterwards, so the database a write lands in shows which
+ * connection it ran on.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.replicaMaxLagInMs=0",
+        "app.jwtSecret=secret", "app.jwtExpirationInMs=3600000" })
+class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MYSQL";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MYSQL";
+
+    private static final String SNAPSHOT = "target/replica-snapshot.sql";
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    // Outside the read-only replica pool, so the test can load the snapshot into it
+    private final DataSource replicaDatabase = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "658");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        userRepository.save(user);
+
+        Category category = new Category("Programacion");
+        category.setCreatedAt(Instant.now());
+        category.setUpdatedAt(Instant.now());
+        categoryRepository.save(category);
+
+        post = new Post();
+        post.setTitle("Titulo original");
+        post.setBody("body");
+        post.setUser(user);
+        post.setCategory(category);
+        post.setCreatedAt(Instant.now());
+        post.setUpdatedAt(Instant.now());
+        postRepository.save(post);
+
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT DROP TO '" + SNAPSHOT + "'");
+        new JdbcTemplate(replicaDatabase).execute("RUNSCRIPT FROM '" + SNAPSHOT + "'");
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readThenWriteInOneRequest_WritesToPrimary() {
+        long replicaConnections = replicaRoutingDataSource.getReplicaConnectionCount();
+        PostRequest request = new PostRequest();
+        request.setTitle("Titulo cambiado");
+        request.setBody("body");
+        request.setCategoryId(post.getCategory().getId());
+        UserPrincipal admin = new UserPrincipal(99L, "admin", "admin", "admin", "admin@gmail.com", "admin",
+                Collections.singleton(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString())));
+
+        // One session for the whole request, exactly as open-in-view binds it
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        openInView.preHandle(webRequest);
+        try {
+            assertEquals("Titulo original", postService.getPost(post.getId()).getTitle());
+            postService.updatePost(post.getId(), request, admin);
+        } finally {
+            openInView.afterCompletion(webRequest, null);
+        }
+
+        assertTrue(replicaRoutingDataSource.getReplicaConnectionCount() > replicaConnections,
+                "The read-only transaction should have used the replica");
+        assertEquals("Titulo cambiado", titleIn(primaryDataSource));
+        assertEquals("Titulo original", titleIn(replicaDatabase));
+    }
+
+    private String titleIn(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT title FROM posts WHERE id = ?", String.class,
+                post.getId());
+    }
+}
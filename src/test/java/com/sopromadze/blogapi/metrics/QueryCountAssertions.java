@@ -0,0 +1,38 @@
+package com.sopromadze.blogapi.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts on the statements counted by {@link QueryCounter} on the test thread. Call {@link #reset()}
+ * before the code under test; a MockMvc request resets the counts itself when it reaches its controller.
+ * Flush and clear the entity manager first, so the counts are not hidden by the persistence context.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void reset() {
+        QueryCounter.reset();
+    }
+
+    public static void assertSelectCount(long expected) {
+        assertEquals(expected, QueryCounter.getSelectCount(), "selects");
+    }
+
+    public static void assertInsertCount(long expected) {
+        assertEquals(expected, QueryCounter.getInsertCount(), "inserts");
+    }
+
+    public static void assertUpdateCount(long expected) {
+        assertEquals(expected, QueryCounter.getUpdateCount(), "updates");
+    }
+
+    public static void assertDeleteCount(long expected) {
+        assertEquals(expected, QueryCounter.getDeleteCount(), "deletes");
+    }
+
+    public static void assertStatementCount(long expected) {
+        assertEquals(expected, QueryCounter.getTotalCount(), "statements");
+    }
+}
@@ -0,0 +1,69 @@
+package com.sopromadze.blogapi.metrics;
+
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.repository.PostRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryRowsInterceptorTest {
+
+    @Mock
+    MethodInvocation invocation;
+
+    SimpleMeterRegistry registry;
+
+    RepositoryRowsInterceptor interceptor;
+
+    @BeforeEach
+    void init(){
+        registry = new SimpleMeterRegistry();
+        interceptor = new RepositoryRowsInterceptor(registry, PostRepository.class);
+    }
+
+    DistributionSummary summary(String method){
+        return registry.find(RepositoryRowsInterceptor.ROWS_SUMMARY)
+                .tag("repository", "PostRepository")
+                .tag("method", method)
+                .summary();
+    }
+
+    @Test
+    void invoke_RecordsRowsOfPagesAndOptionals() throws Throwable {
+        when(invocation.getMethod()).thenReturn(PostRepository.class.getMethod("findAll", Pageable.class));
+        when(invocation.proceed()).thenReturn(new PageImpl<>(List.of(new Post(), new Post())));
+        interceptor.invoke(invocation);
+
+        when(invocation.getMethod()).thenReturn(PostRepository.class.getMethod("findById", Object.class));
+        when(invocation.proceed()).thenReturn(Optional.empty());
+        interceptor.invoke(invocation);
+
+        assertEquals(1, summary("findAll").count());
+        assertEquals(2.0, summary("findAll").totalAmount());
+        assertEquals(1, summary("findById").count());
+        assertEquals(0.0, summary("findById").totalAmount());
+    }
+
+    @Test
+    void invoke_SkipsCounts() throws Throwable {
+        when(invocation.getMethod()).thenReturn(PostRepository.class.getMethod("count"));
+        when(invocation.proceed()).thenReturn(3L);
+
+        assertEquals(3L, interceptor.invoke(invocation));
+        assertNull(summary("count"));
+    }
+}
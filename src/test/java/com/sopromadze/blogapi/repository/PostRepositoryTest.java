@@ -1,9 +1,11 @@
 package com.sopromadze.blogapi.repository;
 
 import com.sopromadze.blogapi.model.Category;
+import com.sopromadze.blogapi.model.Comment;
 import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.payload.PostExport;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -12,14 +14,21 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.sopromadze.blogapi.metrics.QueryCountAssertions.assertSelectCount;
+import static com.sopromadze.blogapi.metrics.QueryCountAssertions.reset;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +44,9 @@ class PostRepositoryTest {
     @Autowired
     TestEntityManager testEntityManager;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Test
     void findByCreatedBy() {
         User userP = new User("Manuel", "Fernández", "ManuFer", "manufer@gmail.com", "123456789");
@@ -124,4 +136,116 @@ class PostRepositoryTest {
         assertEquals(1, cuenta);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPageAfter() {
+        Instant now = Instant.now();
+
+        Post older = new Post();
+        older.setTitle("older");
+        older.setCreatedAt(now.minusSeconds(60));
+        older.setUpdatedAt(now);
+        testEntityManager.persist(older);
+
+        Post newer = new Post();
+        newer.setTitle("newer");
+        newer.setCreatedAt(now);
+        newer.setUpdatedAt(now);
+        testEntityManager.persist(newer);
+
+        Pageable pageable = PageRequest.of(0, 2);
+
+        assertThat(postRepository.findFirstPage(pageable)).containsExactly(newer, older);
+        assertThat(postRepository.findPageAfter(newer.getCreatedAt(), newer.getId(), pageable)).containsExactly(older);
+    }
+
+    @Test
+    void findSliceBy_LoadsCategoriesAndTagsWithoutNPlusOne() {
+        Tag tag = new Tag("java");
+        tag.setCreatedAt(Instant.now());
+        tag.setUpdatedAt(Instant.now());
+        testEntityManager.persist(tag);
+
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("category" + i);
+            category.setCreatedAt(Instant.now());
+            category.setUpdatedAt(Instant.now());
+            testEntityManager.persist(category);
+
+            Post post = new Post();
+            post.setTitle("title" + i);
+            post.setCategory(category);
+            post.setTags(List.of(tag));
+            post.setCreatedAt(Instant.now());
+            post.setUpdatedAt(Instant.now());
+            testEntityManager.persist(post);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        reset();
+        Slice<Post> posts = postRepository.findSliceBy(PageRequest.of(0, 10));
+        for (Post post : posts) {
+            assertNotNull(post.getCategory().getName());
+            assertThat(post.getTags()).hasSize(1);
+        }
+
+        // One select for the posts with their categories, one batch for all of their tags
+        assertSelectCount(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void streamExport() {
+        // The export reads on connections of its own, so the rows have to be committed
+        Post[] posts = new TransactionTemplate(transactionManager).execute(status -> {
+            Tag java = new Tag("java");
+            Tag spring = new Tag("spring");
+            for (Tag tag : List.of(java, spring)) {
+                tag.setCreatedAt(Instant.now());
+                tag.setUpdatedAt(Instant.now());
+                testEntityManager.persist(tag);
+            }
+
+            Post first = new Post();
+            first.setTitle("first");
+            first.setTags(List.of(spring, java));
+            Post second = new Post();
+            second.setTitle("second");
+            for (Post post : List.of(first, second)) {
+                post.setCreatedAt(Instant.now());
+                post.setUpdatedAt(Instant.now());
+                testEntityManager.persist(post);
+            }
+
+            for (String body : List.of("first comment", "second comment")) {
+                Comment comment = new Comment(body);
+                comment.setName("Manuel");
+                comment.setEmail("manufer@gmail.com");
+                comment.setPost(first);
+                comment.setCreatedAt(Instant.now());
+                comment.setUpdatedAt(Instant.now());
+                testEntityManager.persist(comment);
+            }
+            return new Post[] { first, second };
+        });
+
+        List<PostExport> exported = new ArrayList<>();
+        postRepository.streamExport(0, postRepository.findMaxId(), exported::add);
+
+        assertThat(exported).extracting(PostExport::getId).containsExactly(posts[0].getId(), posts[1].getId());
+        assertThat(exported.get(0).getTags()).containsExactly("java", "spring");
+        assertThat(exported.get(0).getComments()).extracting("body").containsExactly("first comment", "second comment");
+        assertThat(exported.get(1).getTags()).isEmpty();
+        assertThat(exported.get(1).getComments()).isEmpty();
+
+        exported.clear();
+        postRepository.streamExport(posts[0].getId(), postRepository.findMaxId(), exported::add);
+        assertThat(exported).extracting(PostExport::getId).containsExactly(posts[1].getId());
+
+        exported.clear();
+        postRepository.streamExport(0, postRepository.findMaxId(), post -> !exported.add(post));
+        assertThat(exported).hasSize(1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.sopromadze.blogapi.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the post count updates against the schema in blogapi.sql, where tags.post_count is unsigned.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TagRepositoryMySqlTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0").withInitScript("blogapi.sql");
+
+    JdbcTemplate jdbcTemplate;
+
+    TagRepositoryCustomImpl tagRepository;
+
+    long tagId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(),
+                MYSQL.getPassword()));
+        // Only the plain JDBC statements are exercised, which do not need the entity manager
+        tagRepository = new TagRepositoryCustomImpl(jdbcTemplate, null);
+        jdbcTemplate.update("DELETE FROM post_tag");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("INSERT INTO tags (name, created_by, updated_by) VALUES ('Fiestas', 1, 1)");
+        tagId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tags", Long.class);
+    }
+
+    long postCount() {
+        return jdbcTemplate.queryForObject("SELECT post_count FROM tags WHERE id = ?", Long.class, tagId);
+    }
+
+    @Test
+    void adjustPostCount_DecrementBelowZero_ClampsInsteadOfFailing() {
+        tagRepository.adjustPostCount(List.of(tagId), 1);
+        tagRepository.adjustPostCount(List.of(tagId), -1);
+        tagRepository.adjustPostCount(List.of(tagId), -1);
+
+        assertEquals(0, postCount());
+    }
+
+    @Test
+    void reconcilePostCounts_RepairsDrift() {
+        tagRepository.adjustPostCount(List.of(tagId), 3);
+
+        assertEquals(1, tagRepository.reconcilePostCounts(0, tagRepository.findMaxTagId()));
+        assertEquals(0, postCount());
+    }
+}
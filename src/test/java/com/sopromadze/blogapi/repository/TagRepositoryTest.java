@@ -60,4 +60,78 @@ class TagRepositoryTest {
                 () -> Assertions.assertEquals(tagId, tagRepository.findByName("Fiestas").getId())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void insertIgnoringExistingTest() {
+
+        Tag existing = new Tag("Cumples");
+        existing.setCreatedAt(Instant.now());
+        existing.setUpdatedAt(Instant.now());
+        entityManager.persistAndFlush(existing);
+
+        tagRepository.insertIgnoringExisting(List.of("Cumples", "Bodas"), 1L);
+
+        List<Tag> tags = tagRepository.findByNameIn(List.of("Cumples", "Bodas"));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, tags.size()),
+                () -> Assertions.assertTrue(tags.stream().anyMatch(t -> t.getId().equals(existing.getId())))
+        );
+    }
+
+    @Test
+    void adjustPostCountTest() {
+
+        Tag first = new Tag("Cumples");
+        first.setCreatedAt(Instant.now());
+        first.setUpdatedAt(Instant.now());
+        Tag other = new Tag("Bodas");
+        other.setCreatedAt(Instant.now());
+        other.setUpdatedAt(Instant.now());
+        entityManager.persist(first);
+        entityManager.persistAndFlush(other);
+
+        tagRepository.adjustPostCount(List.of(first.getId(), other.getId()), 2);
+        tagRepository.adjustPostCount(List.of(other.getId()), -1);
+        entityManager.clear();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(2, tagRepository.findById(first.getId()).get().getPostCount()),
+                () -> Assertions.assertEquals(1, tagRepository.findById(other.getId()).get().getPostCount())
+        );
+    }
+
+    @Test
+    void adjustPostCount_NeverGoesNegative() {
+
+        Tag drifted = new Tag("Cumples");
+        drifted.setCreatedAt(Instant.now());
+        drifted.setUpdatedAt(Instant.now());
+        entityManager.persistAndFlush(drifted);
+
+        tagRepository.adjustPostCount(List.of(drifted.getId()), 1);
+        tagRepository.adjustPostCount(List.of(drifted.getId()), -2);
+        entityManager.clear();
+
+        Assertions.assertEquals(0, tagRepository.findById(drifted.getId()).get().getPostCount());
+    }
+
+    @Test
+    void reconcilePostCounts_RepairsDrift() {
+
+        Tag drifted = new Tag("Cumples");
+        drifted.setCreatedAt(Instant.now());
+        drifted.setUpdatedAt(Instant.now());
+        entityManager.persistAndFlush(drifted);
+        tagRepository.adjustPostCount(List.of(drifted.getId()), 3);
+
+        int repaired = tagRepository.reconcilePostCounts(0, tagRepository.findMaxTagId());
+        entityManager.clear();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, repaired),
+                () -> Assertions.assertEquals(0, tagRepository.findById(drifted.getId()).get().getPostCount()),
+                () -> Assertions.assertEquals(0, tagRepository.reconcilePostCounts(0, tagRepository.findMaxTagId()))
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.user.UserStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the counter upserts against the schema in blogapi.sql, where the counters are unsigned. H2 builds a
+ * signed schema from the entities and cannot catch arithmetic that only fails on MySQL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserStatsRepositoryMySqlTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0").withInitScript("blogapi.sql");
+
+    JdbcTemplate jdbcTemplate;
+
+    UserStatsRepositoryCustomImpl userStatsRepository;
+
+    long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(),
+                MYSQL.getPassword()));
+        userStatsRepository = new UserStatsRepositoryCustomImpl(jdbcTemplate);
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM user_stats");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, username, password, email) "
+                + "VALUES ('Pepe', 'Palomo', 'pepepalomo', '658', 'pepepalomo@gmail.com')");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    }
+
+    long count(String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM user_stats WHERE user_id = ?", Long.class, userId);
+    }
+
+    @Test
+    void adjust_DecrementBelowZero_ClampsInsteadOfFailing() {
+        userStatsRepository.adjust(userId, UserStats.Counter.POSTS, 1);
+        userStatsRepository.adjust(userId, UserStats.Counter.POSTS, -1);
+        userStatsRepository.adjust(userId, UserStats.Counter.POSTS, -1);
+        userStatsRepository.adjust(userId, UserStats.Counter.TODOS, -1);
+
+        assertEquals(0, count("post_count"));
+        assertEquals(0, count("todo_count"));
+    }
+
+    @Test
+    void adjust_PartialDecrement_Subtracts() {
+        userStatsRepository.adjust(userId, UserStats.Counter.ALBUMS, 5);
+        userStatsRepository.adjust(userId, UserStats.Counter.ALBUMS, -2);
+        userStatsRepository.adjust(userId, UserStats.Counter.ALBUMS, -4);
+
+        assertEquals(0, count("album_count"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.sopromadze.blogapi.repository;
+
+import com.sopromadze.blogapi.model.Todo;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserStatsRepositoryTest {
+
+    @Autowired
+    UserStatsRepository userStatsRepository;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Pepe","Palomo","pepepalomo","pepepalomo@gmail.com","658");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        testEntityManager.persistAndFlush(user);
+    }
+
+    @Test
+    void adjust_CreatesRowAndNeverGoesNegative() {
+        userStatsRepository.adjust(user.getId(), UserStats.Counter.POSTS, 1);
+        userStatsRepository.adjust(user.getId(), UserStats.Counter.POSTS, 1);
+        userStatsRepository.adjust(user.getId(), UserStats.Counter.TODOS, -1);
+        testEntityManager.clear();
+
+        UserStats stats = userStatsRepository.findById(user.getId()).get();
+        assertEquals(2, stats.getPostCount());
+        assertEquals(0, stats.getTodoCount());
+    }
+
+    @Test
+    void reconcile_RepairsDrift() {
+        Todo todo = new Todo();
+        todo.setTitle("Comprar pan");
+        todo.setCompleted(false);
+        todo.setUser(user);
+        todo.setCreatedAt(Instant.now());
+        todo.setUpdatedAt(Instant.now());
+        testEntityManager.persistAndFlush(todo);
+        userStatsRepository.adjust(user.getId(), UserStats.Counter.POSTS, 5);
+
+        int repaired = userStatsRepository.reconcile(0, userStatsRepository.findMaxUserId());
+        testEntityManager.clear();
+
+        UserStats stats = userStatsRepository.findById(user.getId()).get();
+        assertEquals(1, repaired);
+        assertEquals(0, stats.getPostCount());
+        assertEquals(1, stats.getTodoCount());
+        assertEquals(0, userStatsRepository.reconcile(0, userStatsRepository.findMaxUserId()));
+    }
+
+    @Test
+    void countFromSource_DoesNotCreateRow() {
+        Todo todo = new Todo();
+        todo.setTitle("Comprar pan");
+        todo.setCompleted(false);
+        todo.setUser(user);
+        todo.setCreatedAt(Instant.now());
+        todo.setUpdatedAt(Instant.now());
+        testEntityManager.persistAndFlush(todo);
+
+        UserStats stats = userStatsRepository.countFromSource(user.getId());
+
+        assertEquals(1, stats.getTodoCount());
+        assertEquals(0, stats.getPostCount());
+        assertFalse(userStatsRepository.findById(user.getId()).isPresent());
+    }
+}
@@ -0,0 +1,155 @@
+package com.sopromadze.blogapi.search;
+
+import com.sopromadze.blogapi.payload.CommentExport;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.PostExport;
+import com.sopromadze.blogapi.payload.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    PostSearchIndex index;
+
+    List<PostExport> posts;
+
+    @BeforeEach
+    void init(){
+        index = new PostSearchIndex(directory.toString(), 1000, 30);
+        posts = new ArrayList<>();
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        index.close();
+    }
+
+    PostExport post(long id, String title, String body, long categoryId, long userId, Duration age, String... tags){
+        PostExport post = new PostExport();
+        post.setId(id);
+        post.setTitle(title);
+        post.setBody(body);
+        post.setCategoryId(categoryId);
+        post.setUserId(userId);
+        post.setCreatedAt(Instant.now().minus(age));
+        post.setTags(List.of(tags));
+        post.setComments(new ArrayList<>());
+        posts.add(post);
+        return post;
+    }
+
+    CommentExport comment(PostExport post, long id, String body, long userId){
+        CommentExport comment = new CommentExport();
+        comment.setId(id);
+        comment.setBody(body);
+        comment.setUserId(userId);
+        comment.setCreatedAt(Instant.now());
+        List<CommentExport> comments = new ArrayList<>(post.getComments());
+        comments.add(comment);
+        post.setComments(comments);
+        return comment;
+    }
+
+    void indexAll(long afterId, long upToId){
+        index.replaceRange(afterId, upToId, (from, to, sink) -> {
+            for (PostExport post : posts) {
+                if (post.getId() > from && post.getId() <= to && !sink.test(post)) {
+                    return;
+                }
+            }
+        });
+        index.refresh();
+    }
+
+    @Test
+    void search_RanksNewerFirstAndHighlights(){
+        post(1, "Spring tips", "Configuring Spring Boot", 1, 1, Duration.ofDays(365));
+        post(2, "Spring tricks", "Configuring Spring Boot", 1, 1, Duration.ZERO);
+        indexAll(0, 2);
+
+        PagedResponse<SearchResult> response = index.search("spring", new SearchFilter(), 0, 10);
+
+        assertEquals(2, response.getTotalElements());
+        assertEquals(2L, response.getContent().get(0).getPostId());
+        assertEquals(1L, response.getContent().get(1).getPostId());
+        assertTrue(response.getContent().get(0).getHighlights().contains("<em>Spring</em> tricks"));
+    }
+
+    @Test
+    void search_Filters(){
+        PostExport java = post(1, "Streams", "Collectors and streams", 1, 1, Duration.ZERO, "Java");
+        comment(java, 10, "Great post about streams", 2);
+        post(2, "Streams", "Reactive streams", 2, 1, Duration.ZERO, "Kotlin");
+        indexAll(0, 2);
+
+        SearchFilter byTag = new SearchFilter();
+        byTag.setTag("java");
+        assertEquals(2, index.search("streams", byTag, 0, 10).getTotalElements());
+
+        SearchFilter comments = new SearchFilter();
+        comments.setType(SearchResult.Type.COMMENT);
+        comments.setUserId(2L);
+        PagedResponse<SearchResult> response = index.search("streams", comments, 0, 10);
+        assertEquals(1, response.getTotalElements());
+        assertEquals(10L, response.getContent().get(0).getCommentId());
+        assertEquals("Streams", response.getContent().get(0).getTitle());
+
+        SearchFilter byCategory = new SearchFilter();
+        byCategory.setCategoryId(2L);
+        assertEquals(2L, index.search(null, byCategory, 0, 10).getContent().get(0).getPostId());
+    }
+
+    @Test
+    void replaceRange_RemovesPostsMissingFromTheSource(){
+        PostExport first = post(1, "First", "Hibernate batching", 1, 1, Duration.ZERO);
+        comment(first, 10, "Hibernate batching needs pooled ids", 2);
+        post(2, "Second", "Hibernate caching", 1, 1, Duration.ZERO);
+        indexAll(0, 2);
+        assertEquals(3, index.search("hibernate", new SearchFilter(), 0, 10).getTotalElements());
+
+        posts.remove(first);
+        indexAll(0, 2);
+
+        PagedResponse<SearchResult> response = index.search("hibernate", new SearchFilter(), 0, 10);
+        assertEquals(1, response.getTotalElements());
+        assertEquals(2L, response.getContent().get(0).getPostId());
+    }
+
+    @Test
+    void search_PageBeyondTheIndex_ReturnsEmptyLastPage(){
+        post(1, "First", "Hibernate batching", 1, 1, Duration.ZERO);
+        post(2, "Second", "Hibernate caching", 1, 1, Duration.ZERO);
+        indexAll(0, 2);
+
+        PagedResponse<SearchResult> response = index.search("hibernate", new SearchFilter(), 1000000, 30);
+        assertTrue(response.getContent().isEmpty());
+        assertEquals(2, response.getTotalElements());
+        assertEquals(1, response.getTotalPages());
+        assertTrue(response.isLast());
+    }
+
+    @Test
+    void search_PageOverflowingInt_ReturnsEmptyLastPage(){
+        post(1, "First", "Hibernate batching", 1, 1, Duration.ZERO);
+        indexAll(0, 1);
+
+        PagedResponse<SearchResult> response = index.search("hibernate", new SearchFilter(), Integer.MAX_VALUE, 30);
+        assertTrue(response.getContent().isEmpty());
+        assertEquals(1, response.getTotalElements());
+        assertTrue(response.isLast());
+    }
+}
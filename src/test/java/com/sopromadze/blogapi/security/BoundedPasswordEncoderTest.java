@@ -0,0 +1,83 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @BeforeEach
+    void init(){
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 2);
+    }
+
+    @AfterEach
+    void shutdown(){
+        boundedPasswordEncoder.shutdown();
+    }
+
+    @Test
+    void encode_Matches(){
+        String encoded = boundedPasswordEncoder.encode("1234");
+
+        assertTrue(boundedPasswordEncoder.matches("1234", encoded));
+        assertFalse(boundedPasswordEncoder.matches("4321", encoded));
+    }
+
+    @Test
+    void supplyAsync_HashesInlineOnPool() throws Exception {
+        String encoded = boundedPasswordEncoder.supplyAsync(() -> boundedPasswordEncoder.encode("1234"))
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(boundedPasswordEncoder.matches("1234", encoded));
+    }
+
+    @Test
+    void supplyAsync_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> busy = boundedPasswordEncoder.supplyAsync(() -> {
+            running.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        running.await(10, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = boundedPasswordEncoder.supplyAsync(() -> true);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> boundedPasswordEncoder.encode("1234"));
+        assertEquals(2, exception.getRetryAfterInSeconds());
+        assertEquals(1, boundedPasswordEncoder.getRejectedCount());
+
+        release.countDown();
+        assertTrue(busy.get(10, TimeUnit.SECONDS));
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void upgradeEncoding_WhenStoredCostIsLower(){
+        String weak = new BCryptPasswordEncoder(4).encode("1234");
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, 1);
+        try {
+            assertTrue(stronger.upgradeEncoding(weak));
+            assertFalse(boundedPasswordEncoder.upgradeEncoding(weak));
+        } finally {
+            stronger.shutdown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.sopromadze.blogapi.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    JwtTokenProvider jwtTokenProvider;
+
+    UserPrincipal userPrincipal;
+
+    @BeforeEach
+    void init(){
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", "secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3600000);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtEmbedClaims", true);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtCacheMaxSize", 10L);
+        jwtTokenProvider.init();
+
+        userPrincipal = new UserPrincipal(1L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    String generateToken(){
+        return jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_EmbeddedClaims(){
+        Claims claims = jwtTokenProvider.getClaimsFromJWT(generateToken());
+
+        UserPrincipal fromClaims = jwtTokenProvider.getUserPrincipalFromClaims(claims);
+
+        assertEquals(userPrincipal, fromClaims);
+        assertEquals("pepepalomo", fromClaims.getUsername());
+        assertEquals("pepepalomo@gmail.com", fromClaims.getEmail());
+        assertEquals(userPrincipal.getAuthorities(), fromClaims.getAuthorities());
+        assertNull(fromClaims.getPassword());
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_SubjectOnly(){
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtEmbedClaims", false);
+
+        Claims claims = jwtTokenProvider.getClaimsFromJWT(generateToken());
+
+        assertNull(jwtTokenProvider.getUserPrincipalFromClaims(claims));
+        assertEquals(Long.valueOf(1L), jwtTokenProvider.getUserIdFromJWT(generateToken()));
+    }
+
+    @Test
+    void getTokenVersionFromClaims(){
+        Claims embedded = jwtTokenProvider.getClaimsFromJWT(generateToken());
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtEmbedClaims", false);
+        Claims subjectOnly = jwtTokenProvider.getClaimsFromJWT(generateToken());
+
+        assertEquals(Long.valueOf(0L), jwtTokenProvider.getTokenVersionFromClaims(embedded));
+        assertNull(jwtTokenProvider.getTokenVersionFromClaims(subjectOnly));
+    }
+
+    @Test
+    void getUserPrincipalFromClaims_OldEpoch(){
+        Claims claims = jwtTokenProvider.getClaimsFromJWT(generateToken());
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtClaimsEpoch", 1L);
+
+        assertNull(jwtTokenProvider.getUserPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void parseToken_CachesVerifiedClaims(){
+        String token = generateToken();
+
+        JwtParseResult first = jwtTokenProvider.parseToken(token);
+        JwtParseResult second = jwtTokenProvider.parseToken(token);
+
+        assertTrue(first.isValid());
+        assertSame(first.getClaims(), second.getClaims());
+        assertEquals("1", first.getClaims().getSubject());
+    }
+
+    @Test
+    void parseToken_InvalidSignature(){
+        String token = generateToken();
+        String tampered = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+
+        JwtParseResult result = jwtTokenProvider.parseToken(tampered);
+
+        assertFalse(result.isValid());
+        assertEquals(JwtParseResult.Failure.INVALID_SIGNATURE, result.getFailure());
+    }
+
+    @Test
+    void parseToken_Expired(){
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", -1000);
+
+        JwtParseResult result = jwtTokenProvider.parseToken(generateToken());
+
+        assertEquals(JwtParseResult.Failure.EXPIRED, result.getFailure());
+    }
+
+    @Test
+    void parseToken_Empty(){
+        assertEquals(JwtParseResult.Failure.EMPTY, jwtTokenProvider.parseToken("").getFailure());
+    }
+}
@@ -0,0 +1,55 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTest {
+
+    UserRepository userRepository;
+
+    TokenRevocationRegistry tokenRevocationRegistry;
+
+    @BeforeEach
+    void init(){
+        userRepository = mock(UserRepository.class);
+        tokenRevocationRegistry = new TokenRevocationRegistry(userRepository, 60000, 10);
+    }
+
+    @Test
+    void isRevoked_CurrentVersion(){
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 3L));
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 2L));
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, null));
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void revoke_ReloadsVersion(){
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 3L));
+
+        tokenRevocationRegistry.revoke(1L);
+
+        verify(userRepository).incrementTokenVersion(1L);
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 3L));
+        assertFalse(tokenRevocationRegistry.isRevoked(1L, 4L));
+    }
+
+    @Test
+    void isRevoked_DeletedUser(){
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(tokenRevocationRegistry.isRevoked(1L, 0L));
+    }
+}
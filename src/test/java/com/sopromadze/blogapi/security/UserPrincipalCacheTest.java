@@ -0,0 +1,47 @@
+package com.sopromadze.blogapi.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    UserPrincipalCache userPrincipalCache;
+
+    AtomicInteger loads;
+
+    @BeforeEach
+    void init(){
+        userPrincipalCache = new UserPrincipalCache(10, 60000);
+        loads = new AtomicInteger();
+    }
+
+    UserPrincipal load(Long id){
+        loads.incrementAndGet();
+        return new UserPrincipal(id, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234", Collections.emptyList());
+    }
+
+    @Test
+    void get_LoadsOnce(){
+        UserPrincipal first = userPrincipalCache.get(1L, this::load);
+        UserPrincipal second = userPrincipalCache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, userPrincipalCache.getStats().hitCount());
+        assertEquals(1, userPrincipalCache.getStats().missCount());
+    }
+
+    @Test
+    void evict_ReloadsOnNextGet(){
+        userPrincipalCache.get(1L, this::load);
+        userPrincipalCache.evict(1L);
+        userPrincipalCache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,59 @@
+package com.sopromadze.blogapi.security;
+
+import com.sopromadze.blogapi.model.role.RoleName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalTest {
+
+    UserPrincipal principal(Long id, RoleName... roles){
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (RoleName role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role.toString()));
+        }
+        return new UserPrincipal(id, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234", authorities);
+    }
+
+    @Test
+    void hasRole_FromAuthorities(){
+        UserPrincipal admin = principal(1L, RoleName.ROLE_USER, RoleName.ROLE_ADMIN);
+
+        assertTrue(admin.hasRole(RoleName.ROLE_USER));
+        assertTrue(admin.isAdmin());
+        assertFalse(principal(1L, RoleName.ROLE_USER).isAdmin());
+    }
+
+    @Test
+    void canModify_OwnerOrAdmin(){
+        UserPrincipal user = principal(1L, RoleName.ROLE_USER);
+
+        assertTrue(user.canModify(1L));
+        assertFalse(user.canModify(2L));
+        assertFalse(user.canModify(null));
+        assertTrue(principal(3L, RoleName.ROLE_ADMIN).canModify(2L));
+    }
+
+    @Test
+    void canModify_NullAuthorities_OwnerOnly(){
+        UserPrincipal user = new UserPrincipal(1L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234", null);
+
+        assertTrue(user.canModify(1L));
+        assertFalse(user.canModify(2L));
+        assertNull(user.getAuthorities());
+    }
+
+    @Test
+    void getAuthorities_ReadOnly(){
+        UserPrincipal user = principal(1L, RoleName.ROLE_USER);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> user.getAuthorities().clear());
+        assertEquals(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), user.getAuthorities());
+    }
+}
@@ -14,7 +14,6 @@ import com.sopromadze.blogapi.service.impl.TagServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -38,13 +37,17 @@ class TagServiceTest {
     @Mock
     private TagRepository tagRepository;
 
-    @InjectMocks
+    @Mock
+    private PageCountService pageCountService;
+
     TagServiceImpl tagService;
 
     static Tag t;
 
     @BeforeEach
     void init(){
+        tagService = new TagServiceImpl(tagRepository, pageCountService, 100, 60000);
+
         t = new Tag("yoquese");
         t.setCreatedBy(6L);
         t.setId(4L);
@@ -163,4 +166,35 @@ class TagServiceTest {
 
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void findOrCreateTags_InsertsOnlyMissing(){
+        UserPrincipal currentUser = new UserPrincipal(6L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234", Collections.emptyList());
+        Tag created = new Tag("nuevo");
+        created.setId(5L);
+
+        when(tagRepository.findByNameIn(List.of("yoquese", "nuevo"))).thenReturn(List.of(t));
+        when(tagRepository.findByNameIn(List.of("nuevo"))).thenReturn(List.of(created));
+
+        List<Tag> tags = tagService.findOrCreateTags(List.of("yoquese", "nuevo", "yoquese"), currentUser);
+
+        assertEquals(List.of(t, created), tags);
+        verify(tagRepository).insertIgnoringExisting(List.of("nuevo"), 6L);
+        verify(tagRepository, never()).save(any(Tag.class));
+    }
+
+    @Test
+    void findOrCreateTags_UsesCachedIds(){
+        UserPrincipal currentUser = new UserPrincipal(6L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234", Collections.emptyList());
+
+        when(tagRepository.findByNameIn(List.of("yoquese"))).thenReturn(List.of(t));
+        when(tagRepository.getById(4L)).thenReturn(t);
+
+        tagService.findOrCreateTags(List.of("yoquese"), currentUser);
+        List<Tag> tags = tagService.findOrCreateTags(List.of("yoquese"), currentUser);
+
+        assertEquals(List.of(t), tags);
+        verify(tagRepository, times(1)).findByNameIn(anyCollection());
+        verify(tagRepository, never()).insertIgnoringExisting(anyCollection(), anyLong());
+    }
+}
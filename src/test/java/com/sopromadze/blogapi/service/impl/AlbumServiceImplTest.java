@@ -11,6 +11,7 @@ import com.sopromadze.blogapi.payload.ApiResponse;
 import com.sopromadze.blogapi.payload.request.AlbumRequest;
 import com.sopromadze.blogapi.repository.AlbumRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,12 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.mockito.stubbing.Answer;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -49,7 +47,7 @@ class AlbumServiceImplTest {
     UserRepository userRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    UserStatsRepository userStatsRepository;
 
     @InjectMocks
     AlbumServiceImpl albumService;
@@ -86,7 +84,6 @@ class AlbumServiceImplTest {
     @Test
     void addAlbum_Success(){
         album.setUser(user);
-        doNothing().when(modelMapper).map(albumRequest,album);
         when(userRepository.getUser(any(UserPrincipal.class))).thenReturn(user);
         when(albumRepository.save(any(Album.class))).thenReturn(album);
         assertNotNull(albumService.addAlbum(albumRequest,userPrincipalUser).getUser());
@@ -102,19 +99,23 @@ class AlbumServiceImplTest {
         when(userRepository.getUser(any(UserPrincipal.class))).thenReturn(user);
         when(albumRepository.save(a2)).thenReturn(a2);
 
-        doAnswer(new Answer() {
-            @Override
-            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
-                Album a1=invocationOnMock.getArgument(1);
-                Album a2=invocationOnMock.getArgument(2);
-                a2.setTitle(a1.getTitle());
-                return null;
-            }
-        }).when(modelMapper).map(a2,album);
-
         assertEquals(title, albumService.updateAlbum(ALBUM_ID,albumRequest,userPrincipalAdmin).getTitle());
     }
 
+    @Test
+    void getAllAlbums_Success(){
+        album.setId(ALBUM_ID);
+        album.setTitle("Cantando bajo la lluvia");
+        album.setUser(user);
+        when(albumRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(album)));
+
+        AlbumResponse response = albumService.getAllAlbums(0, 1).getContent().get(0);
+
+        assertEquals(ALBUM_ID, response.getId());
+        assertEquals("Cantando bajo la lluvia", response.getTitle());
+        assertSame(user, response.getUser());
+    }
+
     @Test
     void getAlbum_Success (){
         when(albumRepository.findById(anyLong())).thenReturn(Optional.of(album));
@@ -135,10 +136,8 @@ class AlbumServiceImplTest {
     }
     @Test
     void updateAlbum_BlogapiException(){
-        user.setId(USER_ID);
-        album.setUser(user);
+        album.setUser(user2);
         when(albumRepository.findById(anyLong())).thenReturn(Optional.of(album));
-        when(userRepository.getUser(any(UserPrincipal.class))).thenReturn(user2);
         assertThrows(BlogapiException.class,()-> albumService.updateAlbum(ALBUM_ID,albumRequest,userPrincipalUser));
     }
 
@@ -154,10 +153,8 @@ class AlbumServiceImplTest {
 
     @Test
     void deleteAlbum_BlogapiException(){
-        user.setId(USER_ID);
-        album.setUser(user);
+        album.setUser(user2);
         when(albumRepository.findById(anyLong())).thenReturn(Optional.of(album));
-        when(userRepository.getUser(any(UserPrincipal.class))).thenReturn(user2);
         assertThrows(BlogapiException.class,()-> albumService.deleteAlbum(ALBUM_ID,userPrincipalUser));
     }
 
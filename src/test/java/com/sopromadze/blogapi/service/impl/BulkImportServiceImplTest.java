@@ -0,0 +1,138 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import com.sopromadze.blogapi.model.Comment;
+import com.sopromadze.blogapi.model.Post;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.BulkImportSummary;
+import com.sopromadze.blogapi.payload.BulkItemResult;
+import com.sopromadze.blogapi.repository.CategoryRepository;
+import com.sopromadze.blogapi.repository.CommentRepository;
+import com.sopromadze.blogapi.repository.PostRepository;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.TagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkImportServiceImplTest {
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    PostRepository postRepository;
+    @Mock
+    CommentRepository commentRepository;
+    @Mock
+    CategoryRepository categoryRepository;
+    @Mock
+    TagRepository tagRepository;
+    @Mock
+    TagService tagService;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    UserStatsRepository userStatsRepository;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    BulkImportServiceImpl bulkImportService;
+
+    UserPrincipal userPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        bulkImportService = new BulkImportServiceImpl(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, entityManager,
+                postRepository, commentRepository, categoryRepository, tagRepository, tagService, userRepository,
+                userStatsRepository, eventPublisher, 2);
+
+        userPrincipal = new UserPrincipal(1L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234",
+                Collections.singleton(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString())));
+
+        Post post = new Post();
+        post.setId(7L);
+        when(userRepository.getById(1L)).thenReturn(new User());
+        when(postRepository.getById(7L)).thenReturn(post);
+        when(postRepository.findExistingIds(anyCollection())).thenReturn(List.of(7L));
+        AtomicLong ids = new AtomicLong(100);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            comment.setId(ids.incrementAndGet());
+            return comment;
+        });
+    }
+
+    @Test
+    void importComments_ReportsEveryLine() {
+        String ndjson = "{\"postId\":7,\"body\":\"Un comentario suficientemente largo\"}\n"
+                + "{\"postId\":8,\"body\":\"Comentario sobre un post que no existe\"}\n"
+                + "\n"
+                + "{\"postId\":7,\"body\":\"corto\"}\n"
+                + "{no es json\n"
+                + "{\"postId\":7,\"body\":\"Otro comentario suficientemente largo\"}\n";
+        List<BulkItemResult> results = new ArrayList<>();
+
+        BulkImportSummary summary = bulkImportService.importComments(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), userPrincipal, results::add);
+
+        assertEquals(2, summary.getCreated());
+        assertEquals(3, summary.getFailed());
+        assertEquals(5, results.size());
+        assertTrue(results.stream().filter(BulkItemResult::isSuccess).allMatch(result -> result.getId() > 100));
+        assertFalse(results.stream().filter(result -> result.getLine() == 2).findFirst().get().isSuccess());
+        assertTrue(results.stream().filter(result -> result.getLine() == 4).findFirst().get().getErrors().get(0)
+                .startsWith("body - "));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(userStatsRepository, times(2)).adjust(1L, UserStats.Counter.COMMENTS, 1);
+        verify(eventPublisher, times(2)).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    void importComments_ChunkFailure_ReportsChunkLines() {
+        when(commentRepository.save(any(Comment.class))).thenThrow(new IllegalStateException("boom"));
+        String ndjson = "{\"postId\":7,\"body\":\"Un comentario suficientemente largo\"}\n";
+        List<BulkItemResult> results = new ArrayList<>();
+
+        BulkImportSummary summary = bulkImportService.importComments(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), userPrincipal, results::add);
+
+        assertEquals(0, summary.getCreated());
+        assertEquals(1, summary.getFailed());
+        assertTrue(results.get(0).getErrors().get(0).contains("boom"));
+    }
+}
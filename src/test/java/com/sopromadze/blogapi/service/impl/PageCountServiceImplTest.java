@@ -0,0 +1,75 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.payload.CountMode;
+import com.sopromadze.blogapi.payload.PagedResponse;
+import com.sopromadze.blogapi.payload.SliceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCountServiceImplTest {
+
+    PageCountServiceImpl pageCountService;
+
+    AtomicInteger counted;
+
+    @BeforeEach
+    void init(){
+        pageCountService = new PageCountServiceImpl();
+        ReflectionTestUtils.setField(pageCountService, "stalenessInMs", 60000L);
+        ReflectionTestUtils.setField(pageCountService, "maxEntries", 10);
+        counted = new AtomicInteger();
+    }
+
+    @Test
+    void toResponse_None_SkipsCount(){
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        SliceResponse<String> response = pageCountService.toResponse(slice, CountMode.NONE, "key", () -> counted.incrementAndGet());
+
+        assertFalse(response instanceof PagedResponse);
+        assertEquals(List.of("a", "b"), response.getContent());
+        assertFalse(response.isLast());
+        assertEquals(0, counted.get());
+    }
+
+    @Test
+    void toResponse_Estimated_CountsOncePerStalenessWindow(){
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        PagedResponse<String> first = (PagedResponse<String>) pageCountService.toResponse(slice, CountMode.ESTIMATED, "key", () -> 10L + counted.incrementAndGet());
+        PagedResponse<String> second = (PagedResponse<String>) pageCountService.toResponse(slice, CountMode.ESTIMATED, "key", () -> 10L + counted.incrementAndGet());
+
+        assertEquals(1, counted.get());
+        assertEquals(11, first.getTotalElements());
+        assertEquals(6, first.getTotalPages());
+        assertEquals(first.getTotalElements(), second.getTotalElements());
+    }
+
+    @Test
+    void toResponse_Estimated_NeverBelowRowsSeen(){
+        Slice<String> slice = new SliceImpl<>(List.of("c", "d"), PageRequest.of(1, 2), true);
+
+        PagedResponse<String> response = (PagedResponse<String>) pageCountService.toResponse(slice, CountMode.ESTIMATED, "key", () -> 1L);
+
+        assertEquals(5, response.getTotalElements());
+    }
+
+    @Test
+    void getEstimatedCount_Stale_Recounts(){
+        ReflectionTestUtils.setField(pageCountService, "stalenessInMs", -1L);
+
+        pageCountService.getEstimatedCount("key", () -> counted.incrementAndGet());
+        pageCountService.getEstimatedCount("key", () -> counted.incrementAndGet());
+
+        assertEquals(2, counted.get());
+    }
+}
@@ -1,5 +1,7 @@
 package com.sopromadze.blogapi.service.impl;
 
+import com.sopromadze.blogapi.event.PostChangedEvent;
+import com.sopromadze.blogapi.exception.BadRequestException;
 import com.sopromadze.blogapi.exception.ResourceNotFoundException;
 import com.sopromadze.blogapi.exception.UnauthorizedException;
 import com.sopromadze.blogapi.model.Category;
@@ -7,24 +9,34 @@ import com.sopromadze.blogapi.model.Post;
 import com.sopromadze.blogapi.model.Tag;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
+import com.sopromadze.blogapi.payload.CursorPagedResponse;
 import com.sopromadze.blogapi.payload.PostRequest;
+import com.sopromadze.blogapi.payload.PostSummary;
 import com.sopromadze.blogapi.repository.CategoryRepository;
 import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.TagRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.TagService;
+import com.sopromadze.blogapi.utils.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,12 +50,21 @@ class PostServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    UserStatsRepository userStatsRepository;
+
     @Mock
     CategoryRepository categoryRepository;
 
     @Mock
     TagRepository tagRepository;
 
+    @Mock
+    TagService tagService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     PostServiceImpl postService;
 
@@ -135,6 +156,38 @@ class PostServiceImplTest {
         assertEquals("Party",postService.updatePost(ONE_ID,dto,userPrincipalAdmin).getTitle());
     }
 
+    @Test
+    void updatePost_SameCategory_InvalidatesOnlyThePost(){
+        PostRequest dto=new PostRequest(); dto.setCategoryId(ONE_ID); dto.setTitle("Party");dto.setBody("En CasaBlanca");
+        post.setCategory(category);
+        when(postRepository.findById(anyLong())).thenReturn(Optional.of(post));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.updatePost(ONE_ID,dto,userPrincipalAdmin);
+
+        ArgumentCaptor<PostChangedEvent> event = ArgumentCaptor.forClass(PostChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().getCategoryIds().isEmpty());
+        assertTrue(event.getValue().getTagIds().isEmpty());
+    }
+
+    @Test
+    void updatePost_MovedCategory_InvalidatesBothCategories(){
+        Category previous=new Category("Previa");previous.setId(2L);
+        PostRequest dto=new PostRequest(); dto.setCategoryId(ONE_ID); dto.setTitle("Party");dto.setBody("En CasaBlanca");
+        post.setCategory(previous);
+        when(postRepository.findById(anyLong())).thenReturn(Optional.of(post));
+        when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
+        when(postRepository.save(post)).thenReturn(post);
+
+        postService.updatePost(ONE_ID,dto,userPrincipalAdmin);
+
+        ArgumentCaptor<PostChangedEvent> event = ArgumentCaptor.forClass(PostChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(2L, ONE_ID), event.getValue().getCategoryIds());
+    }
+
     @Test
     void updatePost_ResourceNotFoundException_Post(){
         PostRequest dto=new PostRequest(); dto.setCategoryId(ONE_ID); dto.setTitle("Party");dto.setBody("En CasaBlanca");
@@ -172,6 +225,20 @@ class PostServiceImplTest {
         assertEquals("You successfully deleted post",postService.deletePost(ONE_ID,userPrincipalAdmin).getMessage());
     }
 
+    @Test
+    void deletePost_DecrementsTagPostCounts(){
+        when(postRepository.findById(anyLong())).thenReturn(Optional.of(post));
+        when(postRepository.findTagIdsByPostId(ONE_ID)).thenReturn(List.of(ONE_ID, 2L));
+
+        postService.deletePost(ONE_ID,userPrincipalAdmin);
+
+        verify(tagRepository).adjustPostCount(List.of(ONE_ID, 2L), -1);
+        verify(userStatsRepository).releaseCommentsOf(ONE_ID);
+        verify(userStatsRepository).adjust(post.getUser().getId(), UserStats.Counter.POSTS, -1);
+        verify(postRepository).deleteById(ONE_ID);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+    }
+
     @Test
     void deletePost_ResourceNotFoundException(){
         when(postRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -191,15 +258,18 @@ class PostServiceImplTest {
         Category category2=new Category(); category2.setName("Zancos");category2.setId(ONE_ID);
         Post post1= new Post();post1.setUser(user2);post1.setCategory(category2);post1.setTags(List.of(tag2));
         PostRequest dto=new PostRequest(); dto.setCategoryId(ONE_ID); dto.setTitle("Party");dto.setBody("En CasaBlanca");
+        dto.setTags(List.of("TagName", "TagName"));
 
         lenient().when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
         lenient().when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category2));
-        lenient().when(tagRepository.findByName(anyString())).thenReturn(tag2);
-        lenient().when(tagRepository.save(any(Tag.class))).thenReturn(tag2);
+        lenient().when(tagService.findOrCreateTags(anyCollection(), any(UserPrincipal.class))).thenReturn(List.of(tag2));
         lenient().when(postRepository.save(any(Post.class))).thenReturn(post1);
 
         assertNotNull(postService.addPost(dto,userPrincipalAdmin));
         assertEquals("Zancos",postService.addPost(dto,userPrincipalAdmin).getCategory());
+        assertEquals(List.of("TagName"),postService.addPost(dto,userPrincipalAdmin).getTags());
+        verify(tagRepository, never()).save(any(Tag.class));
+        verify(tagRepository, times(3)).adjustPostCount(List.of(ONE_ID), 1);
     }
 
     @Test
@@ -233,7 +303,61 @@ class PostServiceImplTest {
         assertThrows(ResourceNotFoundException.class,()->postService.getPost(ONE_ID));
     }
 
+    @Test
+    void getPostFeed_FirstPage_HasNextCursor(){
+        Post first=new Post();first.setId(3L);first.setCreatedAt(Instant.ofEpochSecond(300));
+        Post second=new Post();second.setId(2L);second.setCreatedAt(Instant.ofEpochSecond(200));
+        when(postRepository.findFirstPage(any(Pageable.class))).thenReturn(List.of(first, second));
+
+        CursorPagedResponse<Post> response = postService.getPostFeed(null, ONE);
+
+        assertEquals(List.of(first), response.getContent());
+        assertFalse(response.isLast());
+        assertEquals(new Cursor(first.getCreatedAt(), first.getId()), Cursor.decode(response.getNextCursor()));
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getPostFeed_AfterCursor_LastPage(){
+        Cursor cursor=new Cursor(Instant.ofEpochSecond(300), 3L);
+        Post second=new Post();second.setId(2L);second.setCreatedAt(Instant.ofEpochSecond(200));
+        when(postRepository.findPageAfter(eq(cursor.getCreatedAt()), eq(cursor.getId()), any(Pageable.class)))
+                .thenReturn(List.of(second));
 
+        CursorPagedResponse<Post> response = postService.getPostFeed(cursor.encode(), ONE);
 
+        assertEquals(List.of(second), response.getContent());
+        assertTrue(response.isLast());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getPostFeed_BadRequestException_ZeroSize(){
+        assertThrows(BadRequestException.class,()->postService.getPostFeed(null, 0));
+        verify(postRepository, never()).findFirstPage(any(Pageable.class));
+    }
+
+    @Test
+    void getPostFeed_BadRequestException_InvalidCursor(){
+        assertThrows(BadRequestException.class,()->postService.getPostFeed("not-a-cursor", ONE));
+    }
+
+    @Test
+    void getPostSummaryFeed_LoadsTagsForPageInOneQuery(){
+        PostSummary first=new PostSummary(3L,"t3","b3",ONE_ID,"Juego",Instant.ofEpochSecond(300),ONE_ID);
+        PostSummary second=new PostSummary(2L,"t2","b2",ONE_ID,"Juego",Instant.ofEpochSecond(200),ONE_ID);
+        PostRepository.PostTagName tagName=mock(PostRepository.PostTagName.class);
+        when(tagName.getPostId()).thenReturn(3L);
+        when(tagName.getName()).thenReturn("Super tag");
+        when(postRepository.findFirstSummaryPage(any(Pageable.class))).thenReturn(List.of(first, second));
+        when(postRepository.findTagNamesByPostIdIn(List.of(3L))).thenReturn(List.of(tagName));
+
+        CursorPagedResponse<PostSummary> response = postService.getPostSummaryFeed(null, ONE);
+
+        assertEquals(List.of(first), response.getContent());
+        assertEquals(List.of("Super tag"), response.getContent().get(0).getTags());
+        assertFalse(response.isLast());
+        verify(postRepository, times(1)).findTagNamesByPostIdIn(anyCollection());
+    }
 
-}
\ No newline at end of file
+}
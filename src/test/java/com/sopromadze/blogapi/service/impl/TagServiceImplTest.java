@@ -0,0 +1,91 @@
+package com.sopromadze.blogapi.service.impl;
+
+import com.sopromadze.blogapi.model.Tag;
+import com.sopromadze.blogapi.model.role.RoleName;
+import com.sopromadze.blogapi.repository.TagRepository;
+import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.service.PageCountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TagServiceImplTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private PageCountService pageCountService;
+
+    private TagServiceImpl tagService;
+
+    private UserPrincipal userPrincipal;
+
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new TagServiceImpl(tagRepository, pageCountService, 100, 60000);
+        userPrincipal = new UserPrincipal(1L, "Pepe", "Palomo", "pepepalomo", "pepepalomo@gmail.com", "1234",
+                Collections.singleton(new SimpleGrantedAuthority(RoleName.ROLE_USER.toString())));
+        tag = new Tag("Fiestas");
+        tag.setId(7L);
+        when(tagRepository.findByNameIn(List.of("Fiestas"))).thenReturn(Collections.emptyList(), List.of(tag));
+        when(tagRepository.getById(7L)).thenReturn(tag);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findOrCreateTags_RolledBack_DoesNotCacheIds() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(List.of(tag), tagService.findOrCreateTags(List.of("Fiestas"), userPrincipal));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        when(tagRepository.findByNameIn(List.of("Fiestas"))).thenReturn(List.of(tag));
+        tagService.findOrCreateTags(List.of("Fiestas"), userPrincipal);
+
+        // findOrCreateTags trims the name list it passed after the call, so match any collection
+        verify(tagRepository, times(3)).findByNameIn(anyCollection());
+        verify(tagRepository, never()).getById(7L);
+    }
+
+    @Test
+    void findOrCreateTags_Committed_CachesIds() {
+        TransactionSynchronizationManager.initSynchronization();
+        tagService.findOrCreateTags(List.of("Fiestas"), userPrincipal);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(tag), tagService.findOrCreateTags(List.of("Fiestas"), userPrincipal));
+
+        verify(tagRepository, times(2)).findByNameIn(anyCollection());
+        verify(tagRepository).getById(7L);
+    }
+}
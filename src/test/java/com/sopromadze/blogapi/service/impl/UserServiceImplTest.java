@@ -5,11 +5,14 @@ import com.sopromadze.blogapi.model.role.Role;
 import com.sopromadze.blogapi.model.role.RoleName;
 import com.sopromadze.blogapi.model.user.Address;
 import com.sopromadze.blogapi.model.user.User;
+import com.sopromadze.blogapi.model.user.UserStats;
 import com.sopromadze.blogapi.payload.*;
-import com.sopromadze.blogapi.repository.PostRepository;
 import com.sopromadze.blogapi.repository.RoleRepository;
 import com.sopromadze.blogapi.repository.UserRepository;
+import com.sopromadze.blogapi.repository.UserStatsRepository;
+import com.sopromadze.blogapi.security.TokenRevocationRegistry;
 import com.sopromadze.blogapi.security.UserPrincipal;
+import com.sopromadze.blogapi.security.UserPrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +23,8 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -28,6 +33,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,11 +47,17 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private PostRepository postRepository;
+    private UserStatsRepository userStatsRepository;
     @Mock
     private RoleRepository roleRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     UserServiceImpl userService;
@@ -90,6 +104,9 @@ class UserServiceImplTest {
         infoRequest.setCity("Sevilla");
         infoRequest.setCompanyName("Empresa");
         infoRequest.setZipcode("554");
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
     }
 
     @Test
@@ -123,10 +140,32 @@ class UserServiceImplTest {
     //Dato de entrada el Id, dato de salida el perfil de usuario del Id
     void getUserProfile_Success() {
         when(userRepository.getUserByName(user.getUsername())).thenReturn(user);
-        when(postRepository.countByCreatedBy(user.getId())).thenReturn(user.getId());
+        UserStats stats = new UserStats();
+        stats.setUserId(user.getId());
+        stats.setPostCount(3);
+        stats.setTodoCount(2);
+        when(userStatsRepository.findById(user.getId())).thenReturn(Optional.of(stats));
 
         UserProfile userProfile = userService.getUserProfile(user.getUsername());
         assertEquals(user.getId(), userProfile.getId());
+        assertEquals(3L, userProfile.getPostCount());
+        assertEquals(2L, userProfile.getTodoCount());
+    }
+
+    @Test
+    //Dato de entrada usuario sin fila en user_stats, se cuentan sus filas sin escribir nada
+    void getUserProfile_MissingStats_CountsWithoutWriting() {
+        when(userRepository.getUserByName(user.getUsername())).thenReturn(user);
+        when(userStatsRepository.findById(user.getId())).thenReturn(Optional.empty());
+        UserStats counted = new UserStats();
+        counted.setUserId(user.getId());
+        counted.setPostCount(4);
+        when(userStatsRepository.countFromSource(user.getId())).thenReturn(counted);
+
+        UserProfile userProfile = userService.getUserProfile(user.getUsername());
+        assertEquals(4L, userProfile.getPostCount());
+        verify(userStatsRepository, never()).reconcile(anyLong(), anyLong());
+        verify(userStatsRepository, never()).adjust(any(), any(), anyLong());
     }
 
     @Test
@@ -190,6 +229,47 @@ class UserServiceImplTest {
                 "\"You don't have permission to update profile of: \" + username");
     }
 
+    @Test
+    //Dato de entrada solo el teléfono, no se vuelve a calcular el hash ni se revocan los tokens
+    void patchUser_PhoneOnly_DoesNotHash() {
+        when(userRepository.getUserByName(user.getUsername())).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(user);
+        UserPatchRequest patchRequest = new UserPatchRequest();
+        patchRequest.setPhone("600000000");
+
+        User patched = userService.patchUser(patchRequest, user.getUsername(), userPrincipal);
+
+        assertEquals("600000000", patched.getPhone());
+        assertEquals("Pepe", patched.getFirstName());
+        verify(passwordEncoder, never()).encode(any());
+        verify(tokenRevocationRegistry, never()).revoke(anyLong());
+    }
+
+    @Test
+    //Dato de entrada nueva contraseña, dato de salida usuario con la contraseña cifrada
+    void patchUser_Password_Hashes() {
+        when(userRepository.getUserByName(user.getUsername())).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(user);
+        when(passwordEncoder.encode("nueva1234")).thenReturn("hash");
+        UserPatchRequest patchRequest = new UserPatchRequest();
+        patchRequest.setPassword("nueva1234");
+
+        User patched = userService.patchUser(patchRequest, user.getUsername(), userPrincipal);
+
+        assertEquals("hash", patched.getPassword());
+        verify(passwordEncoder).encode("nueva1234");
+        verify(passwordEncoder, never()).matches(any(), any());
+        verify(tokenRevocationRegistry).revoke(user.getId());
+    }
+
+    @Test
+    //Dato de entrada usuario sin role de admin, dato de salida UnauthorizedException
+    void patchUser_Unauthorized(){
+        when(userRepository.getUserByName(user.getUsername())).thenReturn(user);
+
+        assertThrows(UnauthorizedException.class, ()-> userService.patchUser(new UserPatchRequest(), user.getUsername(), userPrincipalUser));
+    }
+
     @Test
     //Dato de entrada usuario, dato de salida ApiResponse (True)
     void deleteUser_Success() {
@@ -229,6 +309,8 @@ class UserServiceImplTest {
 
         ApiResponse apiResponse = userService.giveAdmin(user.getUsername());
         assertTrue(apiResponse.getSuccess());
+        verify(userPrincipalCache).evict(user.getId());
+        verify(tokenRevocationRegistry).revoke(user.getId());
         //assertTrue(user.getRoles().contains(RoleName.ROLE_ADMIN));
     }
 
@@ -281,7 +363,7 @@ class UserServiceImplTest {
     void setOrUpdateInfo_Success() {
         when(userRepository.findByUsername(userPrincipal.getUsername())).thenReturn(Optional.of(user));
         when(userRepository.save(user)).thenReturn(user);
-        when(postRepository.countByCreatedBy(user.getId())).thenReturn(1L);
+        when(userStatsRepository.findById(user.getId())).thenReturn(Optional.of(new UserStats()));
 
         UserProfile userProfile = userService.setOrUpdateInfo(userPrincipal, infoRequest);
         assertEquals(user.getId(), userProfile.getId());